@@ -5,11 +5,18 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import com.george.config.AviationStackConfig;
+import com.george.config.DedupConfig;
+import com.george.config.EvaluationConfig;
+import com.george.config.ForestConfig;
+import com.george.config.IngestionConfig;
 
 @SpringBootApplication
 @EnableCaching
-@EnableConfigurationProperties(AviationStackConfig.class)
+@EnableScheduling
+@EnableConfigurationProperties({AviationStackConfig.class, IngestionConfig.class, ForestConfig.class, EvaluationConfig.class,
+        DedupConfig.class})
 public class PlaneApiTestApplication {
     public static void main(String[] args) {
         Dotenv dotenv = Dotenv.configure()
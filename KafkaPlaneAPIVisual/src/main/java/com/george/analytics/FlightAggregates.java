@@ -0,0 +1,113 @@
+package com.george.analytics;
+
+import com.george.model.FlightStatus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dashboard aggregates computed from a {@link FlightColumns} snapshot.
+ */
+public final class FlightAggregates {
+
+    /** Lower bounds, in minutes, of the departure delay histogram buckets. */
+    static final int[] DELAY_BUCKETS = {0, 15, 30, 60, 120};
+
+    private static final FlightStatus[] STATUSES = FlightStatus.values();
+
+    private final int flights;
+    private final long[] byStatus;
+    private final Map<String, Long> byAirline;
+    private final Map<String, Long> byAirport;
+    private final long[] departuresByHour;
+    private final long[] delayHistogram;
+
+    FlightAggregates(int flights, long[] byStatus, String[] airlines, long[] byAirline, String[] airports,
+                     long[] byAirport, long[] departuresByHour, long[] delayHistogram) {
+        this.flights = flights;
+        this.byStatus = byStatus;
+        this.byAirline = descending(airlines, byAirline);
+        this.byAirport = descending(airports, byAirport);
+        this.departuresByHour = departuresByHour;
+        this.delayHistogram = delayHistogram;
+    }
+
+    public static FlightAggregates empty() {
+        return FlightColumns.of(Collections.emptyList()).aggregate();
+    }
+
+    static int delayBucket(int minutes) {
+        int bucket = DELAY_BUCKETS.length - 1;
+        while (bucket > 0 && minutes < DELAY_BUCKETS[bucket]) {
+            bucket--;
+        }
+        return bucket;
+    }
+
+    private static Map<String, Long> descending(String[] keys, long[] counts) {
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(counts[b], counts[a]));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i : order) {
+            result.put(keys[i], counts[i]);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    public int getFlights() {
+        return flights;
+    }
+
+    public long count(FlightStatus status) {
+        return byStatus[status.ordinal()];
+    }
+
+    /**
+     * @return Flights per airline IATA code, most frequent first.
+     */
+    public Map<String, Long> getByAirline() {
+        return byAirline;
+    }
+
+    /**
+     * @return Departures plus arrivals per airport IATA code, busiest first.
+     */
+    public Map<String, Long> getByAirport() {
+        return byAirport;
+    }
+
+    /**
+     * @return Scheduled departures per UTC hour of day.
+     */
+    public long[] getDeparturesByHour() {
+        return departuresByHour.clone();
+    }
+
+    /**
+     * @return Departure delays bucketed as 0-14, 15-29, 30-59, 60-119 and 120+ minutes.
+     */
+    public Map<String, Long> getDelayHistogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < DELAY_BUCKETS.length; i++) {
+            String label = i + 1 < DELAY_BUCKETS.length
+                ? DELAY_BUCKETS[i] + "-" + (DELAY_BUCKETS[i + 1] - 1)
+                : DELAY_BUCKETS[i] + "+";
+            histogram.put(label, delayHistogram[i]);
+        }
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("FlightAggregates{flights=").append(flights);
+        for (FlightStatus status : STATUSES) {
+            sb.append(", ").append(status.value()).append('=').append(count(status));
+        }
+        return sb.append('}').toString();
+    }
+}
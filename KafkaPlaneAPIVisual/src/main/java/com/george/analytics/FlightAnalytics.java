@@ -0,0 +1,32 @@
+package com.george.analytics;
+
+import com.george.model.Flight;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the aggregates of the flights the dashboard displays for the latest feed. They are rebuilt only when a new
+ * feed list arrives; repeated dashboard requests against the same cached feed reuse them.
+ */
+@Component
+public class FlightAnalytics {
+
+    private volatile Snapshot snapshot = new Snapshot(null, FlightAggregates.empty());
+
+    /**
+     * @param feed The feed list the displayed flights were selected from; aggregates are cached per feed list.
+     * @param displayed The flights to count, so the aggregates match what the dashboard shows.
+     */
+    public FlightAggregates aggregate(List<Flight> feed, List<Flight> displayed) {
+        Snapshot current = snapshot;
+        if (current.source != feed) {
+            current = new Snapshot(feed, FlightColumns.of(displayed).aggregate());
+            snapshot = current;
+        }
+        return current.aggregates;
+    }
+
+    private record Snapshot(List<Flight> source, FlightAggregates aggregates) {
+    }
+}
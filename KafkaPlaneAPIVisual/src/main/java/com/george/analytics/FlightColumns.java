@@ -0,0 +1,138 @@
+package com.george.analytics;
+
+import com.george.model.Flight;
+import com.george.model.FlightStatus;
+import com.george.model.FlightTimestamps;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable column-oriented copy of a list of flights, built once per feed refresh.
+ *
+ * <p>Every field used by the dashboard is a primitive array indexed by row. Strings are replaced by codes into a
+ * per-snapshot dictionary, and {@link #NONE} marks a missing value, so aggregations are tight loops over arrays
+ * instead of walks over the {@link Flight} object graph.</p>
+ */
+public final class FlightColumns {
+
+    public static final int NONE = -1;
+
+    private static final FlightStatus[] STATUSES = FlightStatus.values();
+
+    private final int size;
+    private final byte[] status;
+    private final int[] airline;
+    private final int[] departure;
+    private final int[] arrival;
+    private final byte[] departureHour;
+    private final int[] departureDelay;
+    private final String[] airlines;
+    private final String[] airports;
+
+    private FlightColumns(int size, byte[] status, int[] airline, int[] departure, int[] arrival,
+                          byte[] departureHour, int[] departureDelay, String[] airlines, String[] airports) {
+        this.size = size;
+        this.status = status;
+        this.airline = airline;
+        this.departure = departure;
+        this.arrival = arrival;
+        this.departureHour = departureHour;
+        this.departureDelay = departureDelay;
+        this.airlines = airlines;
+        this.airports = airports;
+    }
+
+    public static FlightColumns of(List<Flight> flights) {
+        int n = flights.size();
+        byte[] status = new byte[n];
+        int[] airline = new int[n];
+        int[] departure = new int[n];
+        int[] arrival = new int[n];
+        byte[] departureHour = new byte[n];
+        int[] departureDelay = new int[n];
+        Dictionary airlines = new Dictionary();
+        Dictionary airports = new Dictionary();
+
+        for (int i = 0; i < n; i++) {
+            Flight flight = flights.get(i);
+            FlightStatus flightStatus = flight.getStatus();
+            status[i] = (byte) (flightStatus != null ? flightStatus.ordinal() : NONE);
+            airline[i] = airlines.code(flight.getAirline() != null ? flight.getAirline().getIata() : null);
+
+            Flight.Departure dep = flight.getDeparture();
+            departure[i] = airports.code(dep != null ? dep.getIata() : null);
+            long scheduled = dep != null ? dep.getScheduledEpochSecond() : FlightTimestamps.ABSENT;
+            departureHour[i] = (byte) (scheduled == FlightTimestamps.ABSENT ? NONE : Math.floorMod(scheduled, 86_400L) / 3_600);
+            departureDelay[i] = dep != null ? dep.getDelayMinutes() : NONE;
+
+            arrival[i] = airports.code(flight.getArrival() != null ? flight.getArrival().getIata() : null);
+        }
+        return new FlightColumns(n, status, airline, departure, arrival, departureHour, departureDelay,
+            airlines.values(), airports.values());
+    }
+
+    /**
+     * Computes every dashboard aggregate in a single pass over the columns.
+     */
+    public FlightAggregates aggregate() {
+        long[] byStatus = new long[STATUSES.length];
+        long[] byAirline = new long[airlines.length];
+        long[] byAirport = new long[airports.length];
+        long[] byHour = new long[24];
+        long[] delays = new long[FlightAggregates.DELAY_BUCKETS.length];
+
+        for (int i = 0; i < size; i++) {
+            if (status[i] != NONE) {
+                byStatus[status[i]]++;
+            }
+            if (airline[i] != NONE) {
+                byAirline[airline[i]]++;
+            }
+            if (departure[i] != NONE) {
+                byAirport[departure[i]]++;
+            }
+            if (arrival[i] != NONE) {
+                byAirport[arrival[i]]++;
+            }
+            if (departureHour[i] != NONE) {
+                byHour[departureHour[i]]++;
+            }
+            if (departureDelay[i] != NONE) {
+                delays[FlightAggregates.delayBucket(departureDelay[i])]++;
+            }
+        }
+        return new FlightAggregates(size, byStatus, airlines, byAirline, airports, byAirport, byHour, delays);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Assigns dense codes to distinct strings in order of first appearance.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int code(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = codes.size();
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        String[] values() {
+            String[] values = new String[codes.size()];
+            codes.forEach((value, code) -> values[code] = value);
+            return values;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.george.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the content-hash filters that drop unchanged flights before publishing and before processing.
+ */
+@ConfigurationProperties(prefix = "flights.dedup")
+public class DedupConfig {
+
+    /** Whether repeated flights are filtered at all. */
+    private boolean enabled = true;
+    /** How long a flight's content is remembered; older repeats are treated as new. */
+    private Duration window = Duration.ofMinutes(30);
+    /** Distinct flight versions expected within one window; sizes the Bloom filter. */
+    private int expectedFlights = 100_000;
+    /** Target false-positive rate of the Bloom filter at the expected size. */
+    private double falsePositiveRate = 0.001;
+    /** Flights whose latest content hash is held exactly; 0 relies on the Bloom filter alone. */
+    private int exactCacheSize = 50_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    public int getExpectedFlights() { return expectedFlights; }
+    public void setExpectedFlights(int expectedFlights) { this.expectedFlights = expectedFlights; }
+    public double getFalsePositiveRate() { return falsePositiveRate; }
+    public void setFalsePositiveRate(double falsePositiveRate) { this.falsePositiveRate = falsePositiveRate; }
+    public int getExactCacheSize() { return exactCacheSize; }
+    public void setExactCacheSize(int exactCacheSize) { this.exactCacheSize = exactCacheSize; }
+}
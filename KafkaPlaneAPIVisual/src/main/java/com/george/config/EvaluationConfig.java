@@ -0,0 +1,32 @@
+package com.george.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * How candidate status models are evaluated before they replace the live model.
+ */
+@ConfigurationProperties(prefix = "prediction.evaluation")
+public class EvaluationConfig {
+
+    /** Share of the most recent training flights held out for validation. */
+    private double holdoutFraction = 0.2;
+    /** Below this many hold-out rows the candidate skips hold-out validation. */
+    private int minHoldoutRows = 20;
+    /** Accuracy a candidate must gain over the live model to be promoted. */
+    private double promotionMargin = 0.01;
+    /** Reject candidates whose per-row inference latency exceeds the live model's by this factor. */
+    private double maxLatencyRatio = 2.0;
+    /** Labelled flights the shadow trial must score before a promotion decision. */
+    private int shadowSamples = 200;
+
+    public double getHoldoutFraction() { return holdoutFraction; }
+    public void setHoldoutFraction(double holdoutFraction) { this.holdoutFraction = holdoutFraction; }
+    public int getMinHoldoutRows() { return minHoldoutRows; }
+    public void setMinHoldoutRows(int minHoldoutRows) { this.minHoldoutRows = minHoldoutRows; }
+    public double getPromotionMargin() { return promotionMargin; }
+    public void setPromotionMargin(double promotionMargin) { this.promotionMargin = promotionMargin; }
+    public double getMaxLatencyRatio() { return maxLatencyRatio; }
+    public void setMaxLatencyRatio(double maxLatencyRatio) { this.maxLatencyRatio = maxLatencyRatio; }
+    public int getShadowSamples() { return shadowSamples; }
+    public void setShadowSamples(int shadowSamples) { this.shadowSamples = shadowSamples; }
+}
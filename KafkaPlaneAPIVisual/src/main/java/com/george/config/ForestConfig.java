@@ -0,0 +1,48 @@
+package com.george.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hyperparameters of the status model's random forest and the pool it is trained on.
+ */
+@ConfigurationProperties(prefix = "prediction.forest")
+public class ForestConfig {
+
+    private int trees = 100;
+    /** Features tried per split; 0 selects the square root of the feature count. */
+    private int mtry = 0;
+    private int maxDepth = 20;
+    /** Maximum leaves per tree; 0 selects a fifth of the training rows. */
+    private int maxNodes = 0;
+    private int nodeSize = 5;
+    /** 1.0 draws a bootstrap sample with replacement; lower rates sample without replacement. */
+    private double samplingRate = 1.0;
+    /** Weight per flight status; statuses not listed weigh 1. */
+    private Map<String, Integer> classWeights = new HashMap<>();
+    /** Fixes the per-tree seeds for reproducible training when set. */
+    private Long seed;
+    /** Worker threads of the training pool; 0 uses every available core. */
+    private int parallelism = 0;
+
+    public int getTrees() { return trees; }
+    public void setTrees(int trees) { this.trees = trees; }
+    public int getMtry() { return mtry; }
+    public void setMtry(int mtry) { this.mtry = mtry; }
+    public int getMaxDepth() { return maxDepth; }
+    public void setMaxDepth(int maxDepth) { this.maxDepth = maxDepth; }
+    public int getMaxNodes() { return maxNodes; }
+    public void setMaxNodes(int maxNodes) { this.maxNodes = maxNodes; }
+    public int getNodeSize() { return nodeSize; }
+    public void setNodeSize(int nodeSize) { this.nodeSize = nodeSize; }
+    public double getSamplingRate() { return samplingRate; }
+    public void setSamplingRate(double samplingRate) { this.samplingRate = samplingRate; }
+    public Map<String, Integer> getClassWeights() { return classWeights; }
+    public void setClassWeights(Map<String, Integer> classWeights) { this.classWeights = classWeights; }
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+}
@@ -0,0 +1,32 @@
+package com.george.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "aviationstack.ingest")
+public class IngestionConfig {
+
+    private boolean enabled = false;
+    private Duration interval = Duration.ofMinutes(15);
+    private int pageSize = 100;
+    private int concurrency = 4;
+    private Duration minRequestInterval = Duration.ofMillis(250);
+    private int maxPages = 1000;
+    private int maxRetries = 3;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+    public int getPageSize() { return pageSize; }
+    public void setPageSize(int pageSize) { this.pageSize = pageSize; }
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+    public Duration getMinRequestInterval() { return minRequestInterval; }
+    public void setMinRequestInterval(Duration minRequestInterval) { this.minRequestInterval = minRequestInterval; }
+    public int getMaxPages() { return maxPages; }
+    public void setMaxPages(int maxPages) { this.maxPages = maxPages; }
+    public int getMaxRetries() { return maxRetries; }
+    public void setMaxRetries(int maxRetries) { this.maxRetries = maxRetries; }
+}
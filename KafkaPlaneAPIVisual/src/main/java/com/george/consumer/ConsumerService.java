@@ -1,20 +1,80 @@
 package com.george.consumer;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
 import org.springframework.stereotype.Service;
+import com.george.config.DedupConfig;
+import com.george.kafka.FlightDeduplicator;
 import com.george.model.Flight;
+import com.george.model.FlightKeys;
+import com.george.prediction.ModelTrainingScheduler;
+import com.george.prediction.TrainingWindow;
+import com.george.service.FlightPredictionService;
+import com.george.store.FlightStateStore;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ConsumerService {
     private static final Logger logger = LoggerFactory.getLogger(ConsumerService.class);
+
+    private final FlightStateStore flightStateStore;
+    private final TrainingWindow trainingWindow;
+    private final ModelTrainingScheduler trainingScheduler;
+    private final FlightPredictionService predictionService;
+    private final KeyedWorkerPool workerPool;
+    private final FlightDeduplicator deduplicator;
+
+    public ConsumerService(FlightStateStore flightStateStore, TrainingWindow trainingWindow,
+                           ModelTrainingScheduler trainingScheduler, FlightPredictionService predictionService,
+                           KeyedWorkerPool workerPool, DedupConfig dedupConfig) {
+        this.flightStateStore = flightStateStore;
+        this.trainingWindow = trainingWindow;
+        this.trainingScheduler = trainingScheduler;
+        this.predictionService = predictionService;
+        this.workerPool = workerPool;
+        this.deduplicator = new FlightDeduplicator(dedupConfig);
+    }
     
     @KafkaListener(id = "test-listener", topics = "${kafka.topic.flights}", groupId = "${spring.kafka.consumer.group-id}")
-    public void consumeFlights(List<Flight> flights) {
-        logger.info("Consumed batch of {} flights", flights.size());
-        
+    public void consumeFlights(List<ConsumerRecord<String, Flight>> records) {
+        // Records sharing a key stay on one worker lane, so per-flight updates are applied in partition order
+        List<Flight> processed = Collections.synchronizedList(new ArrayList<>(records.size()));
+        workerPool.process(records, ConsumerService::laneKey, lane -> processed.addAll(apply(lane)));
+
+        List<Flight> flights = List.copyOf(processed);
+        logger.info("Consumed batch of {} flights ({} duplicates or unchanged dropped) on {} workers",
+                flights.size(), records.size() - flights.size(), workerPool.size());
+
+        // Remember the batch only once every lane has applied it, so a redelivered batch is processed again
+        deduplicator.recordAll(flights);
+        // A batch of nothing but repeats still shows the feed is live
+        flightStateStore.markLive();
+
+        // Score any shadow candidate against the live model on the observed statuses
+        predictionService.observe(flights);
+
+        // Feed the training window; retraining itself runs off the listener thread
+        trainingWindow.addAll(flights);
+        trainingScheduler.onFlightsAdded();
+    }
+
+    private List<Flight> apply(List<ConsumerRecord<String, Flight>> lane) {
+        List<Flight> values = new ArrayList<>(lane.size());
+        for (ConsumerRecord<String, Flight> record : lane) {
+            if (record.value() != null) {
+                values.add(record.value());
+            }
+        }
+        // Polls republish unchanged flights, both within a batch and across batches
+        List<Flight> flights = deduplicator.changed(FlightKeys.distinct(values));
+
         for (Flight flight : flights) {
             String flightKey = flight.getFlightDate() != null ? 
                 flight.getFlightDate() + "-" + (flight.getDeparture() != null ? flight.getDeparture().getIata() : "unknown") : 
@@ -25,5 +85,36 @@ public class ConsumerService {
                 flight.getDeparture() != null ? flight.getDeparture().getIata() : "N/A",
                 flight.getAirline() != null ? flight.getAirline().getName() : "N/A");
         }
+
+        // Keep the latest state of every flight for local reads; a lane of repeats leaves the store untouched
+        if (!flights.isEmpty()) {
+            flightStateStore.upsertAll(flights);
+        }
+        return flights;
+    }
+
+    /**
+     * The publisher drops unchanged flights, so a stable board leaves the topic idle. An idle container is still
+     * polling and caught up, which keeps the state store fresh for local reads.
+     */
+    @EventListener
+    public void onListenerIdle(ListenerContainerIdleEvent event) {
+        if (event.getListenerId().startsWith("test-listener")) {
+            flightStateStore.markLive();
+        }
+    }
+
+    /**
+     * Counters of the consumer-side filter for unchanged flights.
+     */
+    public Map<String, Object> dedupStats() {
+        return deduplicator.stats();
+    }
+
+    private static Object laneKey(ConsumerRecord<String, Flight> record) {
+        if (record.key() != null) {
+            return record.key();
+        }
+        return record.value() != null ? FlightKeys.identity(record.value()) : null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package com.george.consumer;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fixed set of single-threaded lanes that process a batch in parallel while keeping items with the same key in order.
+ *
+ * <p>Each item is routed to a lane by the hash of its key, so every item for a key runs on the same thread in batch
+ * order. {@link #process} blocks until every lane has finished its share and rethrows the first failure, which lets a
+ * batch listener acknowledge offsets only once the whole batch has been handled.</p>
+ */
+@Component
+public class KeyedWorkerPool {
+
+    private final ExecutorService[] lanes;
+
+    public KeyedWorkerPool(@Value("${kafka.consumer.workers:4}") int workers) {
+        int count = Math.max(1, workers);
+        this.lanes = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            String name = "flight-consumer-worker-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    public int size() {
+        return lanes.length;
+    }
+
+    /**
+     * Splits the items into per-lane groups by key and hands each non-empty group to its lane, waiting for all of them.
+     */
+    public <T> void process(List<T> items, Function<T, ?> keyOf, Consumer<List<T>> handler) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<List<T>> groups = partition(items, keyOf, lanes.length);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(lanes.length);
+        for (int lane = 0; lane < groups.size(); lane++) {
+            List<T> group = groups.get(lane);
+            if (!group.isEmpty()) {
+                pending.add(CompletableFuture.runAsync(() -> handler.accept(group), lanes[lane]));
+            }
+        }
+        try {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Groups items by lane, preserving their relative order within each lane.
+     */
+    static <T> List<List<T>> partition(List<T> items, Function<T, ?> keyOf, int laneCount) {
+        List<List<T>> groups = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            Object key = keyOf.apply(item);
+            int lane = key != null ? Math.floorMod(key.hashCode(), laneCount) : 0;
+            groups.get(lane).add(item);
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,77 @@
+package com.george.controller;
+
+import com.george.consumer.ConsumerService;
+import com.george.kafka.FlightPublisher;
+import com.george.logging.MethodInstrumentation;
+import com.george.prediction.PredictionCache;
+import com.george.prediction.TrainingStats;
+import com.george.service.FlightPredictionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@Tag(name = "Diagnostics API", description = "Runtime counters for the ingestion and prediction pipelines")
+public class DiagnosticsController {
+
+    private final FlightPublisher flightPublisher;
+    private final FlightPredictionService predictionService;
+    private final PredictionCache predictionCache;
+    private final ConsumerService consumerService;
+    private final MethodInstrumentation instrumentation;
+
+    public DiagnosticsController(FlightPublisher flightPublisher, FlightPredictionService predictionService,
+                                 PredictionCache predictionCache, ConsumerService consumerService,
+                                 MethodInstrumentation instrumentation) {
+        this.flightPublisher = flightPublisher;
+        this.consumerService = consumerService;
+        this.instrumentation = instrumentation;
+        this.predictionService = predictionService;
+        this.predictionCache = predictionCache;
+    }
+
+    @Operation(summary = "Kafka publisher stats", description = "Queue depth, per-outcome counters and throughput of the flight publisher")
+    @GetMapping("/kafka/publisher")
+    public Mono<Map<String, Object>> getPublisherStats() {
+        return Mono.just(flightPublisher.stats());
+    }
+
+    @Operation(summary = "Kafka consumer dedup stats", description = "Flights passed and dropped as unchanged repeats by the consumer")
+    @GetMapping("/kafka/consumer")
+    public Mono<Map<String, Object>> getConsumerStats() {
+        return Mono.just(consumerService.dedupStats());
+    }
+
+    @Operation(summary = "Model training stats", description = "Wall time and throughput of the last status model training run")
+    @GetMapping("/model/training")
+    public Mono<ResponseEntity<TrainingStats>> getTrainingStats() {
+        return Mono.justOrEmpty(predictionService.getLastTrainingStats())
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.noContent().build());
+    }
+
+    @Operation(summary = "Model evaluation", description = "Hold-out and shadow comparison of candidate and live status models, and the last promotion decision")
+    @GetMapping("/model/evaluation")
+    public Mono<Map<String, Object>> getEvaluationStats() {
+        return Mono.just(predictionService.evaluationStats());
+    }
+
+    @Operation(summary = "Prediction cache stats", description = "Capacity and hit/miss counts of the prediction result cache")
+    @GetMapping("/model/cache")
+    public Mono<Map<String, Object>> getPredictionCacheStats() {
+        return Mono.just(predictionCache.stats());
+    }
+
+    @Operation(summary = "Method latency", description = "Call and error counts and sampled latency percentiles of service and consumer methods")
+    @GetMapping("/methods")
+    public Mono<Map<String, Object>> getMethodStats() {
+        return Mono.just(instrumentation.stats());
+    }
+}
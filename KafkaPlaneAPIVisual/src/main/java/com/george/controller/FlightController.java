@@ -2,6 +2,9 @@ package com.george.controller;
 
 import com.george.model.Flight;
 import com.george.service.FlightService;
+import com.george.store.FlightQuery;
+import com.george.store.FlightQueryEngine;
+import com.george.store.FlightStateStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +19,7 @@ import reactor.core.publisher.Mono;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/flights")
@@ -23,9 +27,23 @@ import java.util.Map;
 public class FlightController {
 
     private final FlightService flightService;
+    private final FlightStateStore flightStateStore;
+    private final FlightQueryEngine flightQueryEngine;
 
-    public FlightController(FlightService flightService) {
+    public FlightController(FlightService flightService, FlightStateStore flightStateStore, FlightQueryEngine flightQueryEngine) {
         this.flightService = flightService;
+        this.flightStateStore = flightStateStore;
+        this.flightQueryEngine = flightQueryEngine;
+    }
+
+    /**
+     * Serves a read from the local state store while it is fresh, and from upstream otherwise.
+     */
+    private Mono<ResponseEntity<List<Flight>>> readFlights(Supplier<List<Flight>> local, Supplier<Mono<List<Flight>>> upstream) {
+        Mono<List<Flight>> flights = flightStateStore.isFresh() ? Mono.fromSupplier(local) : upstream.get();
+        return flights
+                .map(result -> ResponseEntity.ok().body(result))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Get all flights", description = "Retrieves a list of all available flights")
@@ -36,9 +54,7 @@ public class FlightController {
     })
     @GetMapping
     public Mono<ResponseEntity<List<Flight>>> getAllFlights() {
-        return flightService.getFlights()
-                .map(flights -> ResponseEntity.ok().body(flights))
-                .defaultIfEmpty(ResponseEntity.notFound().build());
+        return readFlights(flightStateStore::all, flightService::getFlights);
     }
 
     @Operation(summary = "Search flights", description = "Search for flights based on various criteria")
@@ -53,13 +69,25 @@ public class FlightController {
             @Parameter(description = "Flight number") @RequestParam(required = false) String flight_number,
             @Parameter(description = "Departure airport IATA code") @RequestParam(required = false) String departure,
             @Parameter(description = "Arrival airport IATA code") @RequestParam(required = false) String arrival,
-            @Parameter(description = "Flight status") @RequestParam(required = false) String status) {
+            @Parameter(description = "Flight status") @RequestParam(required = false) String status,
+            @Parameter(description = "Sort field (flight_date, departure, arrival, airline, flight_number, status); prefix with - for descending")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Number of matches to skip") @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Maximum number of matches to return") @RequestParam(defaultValue = "100") int limit) {
+        if (flightStateStore.isFresh()) {
+            FlightQuery query = new FlightQuery(airline, flight_number, departure, arrival, status, sort, offset, limit);
+            return Mono.fromSupplier(() -> flightQueryEngine.search(query))
+                    .map(flights -> ResponseEntity.ok().body(flights))
+                    .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+        }
         Map<String, String> queryParams = new HashMap<>();
         if (airline != null) queryParams.put("airline_iata", airline);
         if (flight_number != null) queryParams.put("flight_number", flight_number);
         if (departure != null) queryParams.put("dep_iata", departure);
         if (arrival != null) queryParams.put("arr_iata", arrival);
         if (status != null) queryParams.put("flight_status", status);
+        queryParams.put("offset", String.valueOf(offset));
+        queryParams.put("limit", String.valueOf(limit));
         return flightService.searchFlights(queryParams)
                 .map(flights -> ResponseEntity.ok().body(flights))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
@@ -74,9 +102,7 @@ public class FlightController {
     @GetMapping("/airline/{code}")
     public Mono<ResponseEntity<List<Flight>>> getFlightsByAirline(
             @Parameter(description = "Airline IATA code") @PathVariable String code) {
-        return flightService.getFlightsByAirline(code)
-                .map(flights -> ResponseEntity.ok().body(flights))
-                .defaultIfEmpty(ResponseEntity.notFound().build());
+        return readFlights(() -> flightStateStore.findByAirline(code), () -> flightService.getFlightsByAirline(code));
     }
 
     @Operation(summary = "Get flights by airport", description = "Retrieves flights arriving at or departing from a specific airport")
@@ -88,9 +114,7 @@ public class FlightController {
     @GetMapping("/airport/{code}")
     public Mono<ResponseEntity<List<Flight>>> getFlightsByAirport(
             @Parameter(description = "Airport IATA code") @PathVariable String code) {
-        return flightService.getFlightsByAirport(code)
-                .map(flights -> ResponseEntity.ok().body(flights))
-                .defaultIfEmpty(ResponseEntity.notFound().build());
+        return readFlights(() -> flightStateStore.findByAirport(code), () -> flightService.getFlightsByAirport(code));
     }
 
     @Operation(summary = "Get flights by flight number", description = "Retrieves flights with a specific flight number")
@@ -102,9 +126,7 @@ public class FlightController {
     @GetMapping("/number/{flightNumber}")
     public Mono<ResponseEntity<List<Flight>>> getFlightsByNumber(
             @Parameter(description = "Flight number") @PathVariable String flightNumber) {
-        return flightService.getFlightsByFlightNumber(flightNumber)
-                .map(flights -> ResponseEntity.ok().body(flights))
-                .defaultIfEmpty(ResponseEntity.notFound().build());
+        return readFlights(() -> flightStateStore.findByFlightNumber(flightNumber), () -> flightService.getFlightsByFlightNumber(flightNumber));
     }
 
     @Operation(summary = "Get flights by status", description = "Retrieves flights with a specific status")
@@ -117,8 +139,6 @@ public class FlightController {
     public Mono<ResponseEntity<List<Flight>>> getFlightsByStatus(
             @Parameter(description = "Flight status (e.g., scheduled, active, landed, cancelled)") 
             @PathVariable String status) {
-        return flightService.getFlightsByStatus(status)
-                .map(flights -> ResponseEntity.ok().body(flights))
-                .defaultIfEmpty(ResponseEntity.notFound().build());
+        return readFlights(() -> flightStateStore.findByStatus(status), () -> flightService.getFlightsByStatus(status));
     }
 }
\ No newline at end of file
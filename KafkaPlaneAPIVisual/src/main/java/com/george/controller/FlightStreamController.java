@@ -1,25 +1,32 @@
 package com.george.controller;
 
-import com.george.model.Flight;
-import com.george.service.FlightService;
+import com.george.stream.FlightDelta;
+import com.george.stream.FlightDeltaStream;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 
-import java.util.List;
-
 @RestController
 public class FlightStreamController {
 
-    private final FlightService flightService;
+    private final FlightDeltaStream flightDeltaStream;
 
-    public FlightStreamController(FlightService flightService) {
-        this.flightService = flightService;
+    public FlightStreamController(FlightDeltaStream flightDeltaStream) {
+        this.flightDeltaStream = flightDeltaStream;
     }
 
+    /**
+     * Streams the dashboard as a "keyframe" event with the full board, followed by "delta" events holding only
+     * the added, changed and removed flights. A delta applies on top of the update whose id is its baseSequence.
+     */
     @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<List<Flight>> streamFlights() {
-        return flightService.getFlightsStream();
+    public Flux<ServerSentEvent<FlightDelta>> streamFlights() {
+        return flightDeltaStream.subscribe()
+            .map(update -> ServerSentEvent.builder(update)
+                .id(Long.toString(update.getSequence()))
+                .event(update.getType().name().toLowerCase())
+                .build());
     }
-}
\ No newline at end of file
+}
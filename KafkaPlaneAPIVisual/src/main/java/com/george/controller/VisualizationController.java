@@ -1,6 +1,11 @@
 package com.george.controller;
 
+import com.george.analytics.FlightAggregates;
+import com.george.analytics.FlightAnalytics;
 import com.george.model.Flight;
+import com.george.model.FlightStatus;
+import com.george.prediction.ModelTrainingScheduler;
+import com.george.prediction.TrainingWindow;
 import com.george.service.FlightPredictionService;
 import com.george.service.FlightService;
 import org.slf4j.Logger;
@@ -11,7 +16,8 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import reactor.core.publisher.Mono;
 
-import javax.annotation.PostConstruct;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -29,18 +35,27 @@ public class VisualizationController {
     @Autowired
     private FlightPredictionService predictionService;
 
+    @Autowired
+    private TrainingWindow trainingWindow;
+
+    @Autowired
+    private ModelTrainingScheduler trainingScheduler;
+
+    @Autowired
+    private FlightAnalytics flightAnalytics;
+
     @PostConstruct
     public void init() {
-        logger.info("Initializing VisualizationController, training model with instance {}", predictionService.hashCode());
+        logger.info("Initializing VisualizationController, retraining model in the background with instance {}", predictionService.hashCode());
         flightService.getFlights()
             .doOnNext(flights -> logger.info("Fetched {} flights for initial training", flights.size()))
             .subscribe(flights -> {
                 List<Flight> trainingFlights = flights.stream()
                     .distinct()
-                    .limit(100)
                     .collect(Collectors.toList());
-                logger.info("Training with {} flights", trainingFlights.size());
-                predictionService.trainStatusPredictor(trainingFlights);
+                logger.info("Seeding training window with {} flights", trainingFlights.size());
+                trainingWindow.addAll(trainingFlights);
+                trainingScheduler.retrain("startup");
             }, error -> logger.error("Error during initial training: {}", error.getMessage(), error));
     }
 
@@ -69,25 +84,19 @@ public class VisualizationController {
                     .collect(Collectors.toList());
                 logger.info("After unique filter: {} flights", uniqueFlights.size());
 
-                List<Flight> flightsWithPredictions = uniqueFlights.stream()
-                    .map(flight -> {
-                        String predictedStatus = predictionService.predictFlightStatus(flight);
-                        flight.setPredictedStatus(predictedStatus);
-                        return flight;
-                    })
-                    .collect(Collectors.toList());
+                List<String> predictedStatuses = predictionService.predictFlightStatuses(uniqueFlights);
+                List<Flight> flightsWithPredictions = new ArrayList<>(uniqueFlights.size());
+                for (int i = 0; i < uniqueFlights.size(); i++) {
+                    Flight flight = uniqueFlights.get(i);
+                    flight.setPredictedStatus(predictedStatuses.get(i));
+                    flightsWithPredictions.add(flight);
+                }
                 logger.info("Processed {} flights with predictions", flightsWithPredictions.size());
 
+                // Count the flights the table shows, so the summary matches it
                 Map<String, Object> resultMap = new HashMap<>();
                 resultMap.put("flights", flightsWithPredictions);
-                resultMap.put("scheduledCount", flightsWithPredictions.stream()
-                    .filter(f -> "scheduled".equalsIgnoreCase(f.getFlightStatus())).count());
-                resultMap.put("activeCount", flightsWithPredictions.stream()
-                    .filter(f -> "active".equalsIgnoreCase(f.getFlightStatus())).count());
-                resultMap.put("landedCount", flightsWithPredictions.stream()
-                    .filter(f -> "landed".equalsIgnoreCase(f.getFlightStatus())).count());
-                resultMap.put("cancelledCount", flightsWithPredictions.stream()
-                    .filter(f -> "cancelled".equalsIgnoreCase(f.getFlightStatus())).count());
+                putAggregates(resultMap, flightAnalytics.aggregate(flights, uniqueFlights));
 
                 return resultMap;
             })
@@ -96,11 +105,19 @@ public class VisualizationController {
                 logger.error("Recovering from error in getFlightData: {}", e.getMessage());
                 Map<String, Object> emptyResult = new HashMap<>();
                 emptyResult.put("flights", Collections.emptyList());
-                emptyResult.put("scheduledCount", 0L);
-                emptyResult.put("activeCount", 0L);
-                emptyResult.put("landedCount", 0L);
-                emptyResult.put("cancelledCount", 0L);
+                putAggregates(emptyResult, FlightAggregates.empty());
                 return Mono.just(emptyResult);
             });
     }
+
+    private static void putAggregates(Map<String, Object> result, FlightAggregates aggregates) {
+        result.put("scheduledCount", aggregates.count(FlightStatus.SCHEDULED));
+        result.put("activeCount", aggregates.count(FlightStatus.ACTIVE));
+        result.put("landedCount", aggregates.count(FlightStatus.LANDED));
+        result.put("cancelledCount", aggregates.count(FlightStatus.CANCELLED));
+        result.put("airlineCounts", aggregates.getByAirline());
+        result.put("airportCounts", aggregates.getByAirport());
+        result.put("departuresByHour", aggregates.getDeparturesByHour());
+        result.put("delayHistogram", aggregates.getDelayHistogram());
+    }
 }
\ No newline at end of file
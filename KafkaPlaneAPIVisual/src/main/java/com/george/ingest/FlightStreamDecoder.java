@@ -0,0 +1,184 @@
+package com.george.ingest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.george.model.Flight;
+import com.george.model.FlightResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decodes an AviationStack {@code /v1/flights} response body incrementally. The body is fed to a non-blocking
+ * Jackson parser chunk by chunk, and every element of the {@code data} array is emitted as soon as its closing
+ * brace arrives, so neither the whole body nor the whole array is ever held in memory.
+ */
+@Component
+public class FlightStreamDecoder {
+
+    private final ObjectMapper objectMapper;
+
+    public FlightStreamDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Decodes the flights of a response body.
+     *
+     * @param body         The raw response body.
+     * @param onPagination Called with the response's pagination block, if present.
+     * @return The flights of the {@code data} array, in order.
+     */
+    public Flux<Flight> decode(Flux<DataBuffer> body, Consumer<FlightResponse.Pagination> onPagination) {
+        return Flux.defer(() -> {
+            Tokenizer tokenizer = new Tokenizer(onPagination);
+            return body.concatMapIterable(tokenizer::feed)
+                .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.endOfInput())))
+                .doFinally(signal -> tokenizer.close());
+        });
+    }
+
+    private enum Target { FLIGHT, PAGINATION, ERROR, SKIP }
+
+    /**
+     * Per-response parsing state. Top-level fields other than {@code data}, {@code pagination} and
+     * {@code error} are skipped.
+     */
+    private final class Tokenizer {
+
+        private final Consumer<FlightResponse.Pagination> onPagination;
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+
+        private int depth;
+        private boolean inData;
+        private String field;
+        private TokenBuffer capture;
+        private Target target;
+        private int captureDepth;
+
+        Tokenizer(Consumer<FlightResponse.Pagination> onPagination) {
+            this.onPagination = onPagination;
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<Flight> feed(DataBuffer buffer) {
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                feeder.feedInput(bytes, 0, bytes.length);
+                return drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<Flight> endOfInput() {
+            try {
+                feeder.endOfInput();
+                List<Flight> flights = drain();
+                if (depth != 0) {
+                    throw new IllegalStateException("Truncated flights response");
+                }
+                return flights;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // Nothing left to release
+            }
+        }
+
+        private List<Flight> drain() throws IOException {
+            List<Flight> flights = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (target != null) {
+                    capture(token, flights);
+                } else if (inData) {
+                    if (token == JsonToken.START_OBJECT) {
+                        startCapture(Target.FLIGHT, token, flights);
+                    } else if (token == JsonToken.START_ARRAY) {
+                        startCapture(Target.SKIP, token, flights);
+                    } else if (token == JsonToken.END_ARRAY) {
+                        inData = false;
+                        depth--;
+                    }
+                } else if (token == JsonToken.FIELD_NAME) {
+                    field = parser.currentName();
+                } else if (token.isStructStart()) {
+                    if (depth == 0) {
+                        depth++;
+                    } else if (depth == 1 && "data".equals(field) && token == JsonToken.START_ARRAY) {
+                        inData = true;
+                        depth++;
+                    } else if (depth == 1 && "pagination".equals(field)) {
+                        startCapture(Target.PAGINATION, token, flights);
+                    } else if (depth == 1 && "error".equals(field)) {
+                        startCapture(Target.ERROR, token, flights);
+                    } else {
+                        startCapture(Target.SKIP, token, flights);
+                    }
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+            }
+            return flights;
+        }
+
+        private void startCapture(Target target, JsonToken token, List<Flight> flights) throws IOException {
+            this.target = target;
+            this.capture = target == Target.SKIP ? null : new TokenBuffer(parser);
+            this.captureDepth = 0;
+            capture(token, flights);
+        }
+
+        private void capture(JsonToken token, List<Flight> flights) throws IOException {
+            if (capture != null) {
+                capture.copyCurrentEvent(parser);
+            }
+            if (token.isStructStart()) {
+                captureDepth++;
+            } else if (token.isStructEnd()) {
+                captureDepth--;
+            }
+            if (captureDepth > 0) {
+                return;
+            }
+
+            Target completed = target;
+            TokenBuffer captured = capture;
+            target = null;
+            capture = null;
+            switch (completed) {
+                case FLIGHT -> flights.add(objectMapper.readValue(captured.asParser(), Flight.class));
+                case PAGINATION -> onPagination.accept(objectMapper.readValue(captured.asParser(), FlightResponse.Pagination.class));
+                case ERROR -> throw new IllegalStateException("AviationStack returned an error: "
+                    + objectMapper.readTree(captured.asParser()));
+                case SKIP -> { }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.george.ingest;
+
+import com.george.service.FlightService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodically ingests the full AviationStack feed when {@code aviationstack.ingest.enabled} is set.
+ * A run that is still in progress when the next one is due is not overlapped.
+ */
+@Component
+@ConditionalOnProperty(prefix = "aviationstack.ingest", name = "enabled", havingValue = "true")
+public class FullFeedIngestionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(FullFeedIngestionJob.class);
+
+    private final FlightService flightService;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public FullFeedIngestionJob(FlightService flightService) {
+        this.flightService = flightService;
+    }
+
+    @Scheduled(fixedDelayString = "${aviationstack.ingest.interval:PT15M}")
+    public void ingest() {
+        if (!running.compareAndSet(false, true)) {
+            logger.debug("Skipping full-feed ingestion: previous run still in progress");
+            return;
+        }
+        long start = System.nanoTime();
+        flightService.ingestAllFlights()
+            .reduce(0, (count, page) -> count + page.size())
+            .doFinally(signal -> running.set(false))
+            .subscribe(
+                count -> logger.info("Full-feed ingestion finished: {} flights in {} ms",
+                    count, (System.nanoTime() - start) / 1_000_000),
+                error -> logger.error("Full-feed ingestion failed: {}", error.getMessage(), error));
+    }
+}
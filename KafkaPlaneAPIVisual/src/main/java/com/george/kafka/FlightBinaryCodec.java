@@ -0,0 +1,371 @@
+package com.george.kafka;
+
+import com.george.model.Flight;
+import com.george.model.FlightTimestamps;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Compact, schema-versioned binary encoding of {@link Flight} records for the flights topic.
+ *
+ * <p>Layout: a {@code 0x00} marker byte (never the first byte of a JSON document), the format version, a bitmask
+ * of the nested objects that are present, then every field in a fixed order. Strings are written as a varint of
+ * {@code length + 1} (0 meaning null) followed by UTF-8 bytes; live position values are raw IEEE-754 doubles.</p>
+ *
+ * <p>Timestamps and the flight date are written in the packed form {@link Flight} already holds them in, so
+ * neither side formats or parses text: a varint of 0 for no value, 1 for a value that could not be packed followed
+ * by its verbatim string, or 2 plus the zigzag-encoded packed value. A current timestamp takes six bytes instead
+ * of 26.</p>
+ */
+public final class FlightBinaryCodec {
+
+    public static final byte MARKER = 0x00;
+    public static final byte VERSION = 1;
+
+    private static final int ABSENT_TAG = 0;
+    private static final int RAW_TAG = 1;
+    private static final int VALUE_TAG = 2;
+
+    private static final int HAS_DEPARTURE = 1;
+    private static final int HAS_ARRIVAL = 1 << 1;
+    private static final int HAS_AIRLINE = 1 << 2;
+    private static final int HAS_FLIGHT_INFO = 1 << 3;
+    private static final int HAS_AIRCRAFT = 1 << 4;
+    private static final int HAS_LIVE = 1 << 5;
+
+    private FlightBinaryCodec() {
+    }
+
+    /**
+     * Returns {@code true} if the payload starts with the binary marker rather than JSON.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length > 1 && data[0] == MARKER;
+    }
+
+    public static byte[] encode(Flight flight) {
+        Writer out = new Writer();
+        out.write(MARKER);
+        out.write(VERSION);
+
+        Flight.Departure departure = flight.getDeparture();
+        Flight.Arrival arrival = flight.getArrival();
+        Flight.Airline airline = flight.getAirline();
+        Flight.FlightInfo info = flight.getFlightInfo();
+        Flight.Aircraft aircraft = flight.getAircraft();
+        Flight.Live live = flight.getLive();
+        int present = (departure != null ? HAS_DEPARTURE : 0)
+            | (arrival != null ? HAS_ARRIVAL : 0)
+            | (airline != null ? HAS_AIRLINE : 0)
+            | (info != null ? HAS_FLIGHT_INFO : 0)
+            | (aircraft != null ? HAS_AIRCRAFT : 0)
+            | (live != null ? HAS_LIVE : 0);
+        out.write(present);
+
+        out.writeDate(flight.getFlightDateEpochDay(), flight::getFlightDate);
+        out.writeString(flight.getFlightStatus());
+        out.writeString(flight.getPredictedStatus());
+        if (departure != null) {
+            out.writeString(departure.getAirport());
+            out.writeString(departure.getTimezone());
+            out.writeString(departure.getIata());
+            out.writeString(departure.getIcao());
+            out.writeString(departure.getTerminal());
+            out.writeString(departure.getGate());
+            out.writeString(departure.getDelay());
+            out.writeTime(departure.getScheduledPacked(), departure::getScheduled);
+            out.writeTime(departure.getEstimatedPacked(), departure::getEstimated);
+            out.writeTime(departure.getActualPacked(), departure::getActual);
+            out.writeTime(departure.getEstimatedRunwayPacked(), departure::getEstimatedRunway);
+            out.writeTime(departure.getActualRunwayPacked(), departure::getActualRunway);
+        }
+        if (arrival != null) {
+            out.writeString(arrival.getAirport());
+            out.writeString(arrival.getTimezone());
+            out.writeString(arrival.getIata());
+            out.writeString(arrival.getIcao());
+            out.writeString(arrival.getTerminal());
+            out.writeString(arrival.getGate());
+            out.writeString(arrival.getBaggage());
+            out.writeString(arrival.getDelay());
+            out.writeTime(arrival.getScheduledPacked(), arrival::getScheduled);
+            out.writeTime(arrival.getEstimatedPacked(), arrival::getEstimated);
+            out.writeTime(arrival.getActualPacked(), arrival::getActual);
+            out.writeTime(arrival.getEstimatedRunwayPacked(), arrival::getEstimatedRunway);
+            out.writeTime(arrival.getActualRunwayPacked(), arrival::getActualRunway);
+        }
+        if (airline != null) {
+            out.writeString(airline.getName());
+            out.writeString(airline.getIata());
+            out.writeString(airline.getIcao());
+        }
+        if (info != null) {
+            out.writeString(info.getNumber());
+            out.writeString(info.getIata());
+            out.writeString(info.getIcao());
+        }
+        if (aircraft != null) {
+            out.writeString(aircraft.getRegistration());
+            out.writeString(aircraft.getIata());
+            out.writeString(aircraft.getIcao());
+            out.writeString(aircraft.getIcao24());
+        }
+        if (live != null) {
+            out.writeTime(live.getUpdatedPacked(), live::getUpdated);
+            out.writeDouble(live.getLatitude());
+            out.writeDouble(live.getLongitude());
+            out.writeDouble(live.getAltitude());
+            out.writeDouble(live.getDirection());
+            out.writeDouble(live.getSpeedHorizontal());
+            out.writeDouble(live.getSpeedVertical());
+            out.write(live.isGround() ? 1 : 0);
+        }
+        return out.toByteArray();
+    }
+
+    public static Flight decode(byte[] data) {
+        Reader in = new Reader(data);
+        if (in.read() != MARKER) {
+            throw new IllegalArgumentException("Not a binary flight record");
+        }
+        int version = in.read();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported flight record version " + version);
+        }
+        int present = in.read();
+
+        Flight flight = new Flight();
+        in.readDate(flight::setFlightDateEpochDay);
+        flight.setFlightStatus(in.readString());
+        flight.setPredictedStatus(in.readString());
+        if ((present & HAS_DEPARTURE) != 0) {
+            Flight.Departure departure = new Flight.Departure();
+            departure.setAirport(in.readString());
+            departure.setTimezone(in.readString());
+            departure.setIata(in.readString());
+            departure.setIcao(in.readString());
+            departure.setTerminal(in.readString());
+            departure.setGate(in.readString());
+            departure.setDelay(in.readString());
+            in.readTime(departure::setScheduledPacked);
+            in.readTime(departure::setEstimatedPacked);
+            in.readTime(departure::setActualPacked);
+            in.readTime(departure::setEstimatedRunwayPacked);
+            in.readTime(departure::setActualRunwayPacked);
+            flight.setDeparture(departure);
+        }
+        if ((present & HAS_ARRIVAL) != 0) {
+            Flight.Arrival arrival = new Flight.Arrival();
+            arrival.setAirport(in.readString());
+            arrival.setTimezone(in.readString());
+            arrival.setIata(in.readString());
+            arrival.setIcao(in.readString());
+            arrival.setTerminal(in.readString());
+            arrival.setGate(in.readString());
+            arrival.setBaggage(in.readString());
+            arrival.setDelay(in.readString());
+            in.readTime(arrival::setScheduledPacked);
+            in.readTime(arrival::setEstimatedPacked);
+            in.readTime(arrival::setActualPacked);
+            in.readTime(arrival::setEstimatedRunwayPacked);
+            in.readTime(arrival::setActualRunwayPacked);
+            flight.setArrival(arrival);
+        }
+        if ((present & HAS_AIRLINE) != 0) {
+            Flight.Airline airline = new Flight.Airline();
+            airline.setName(in.readString());
+            airline.setIata(in.readString());
+            airline.setIcao(in.readString());
+            flight.setAirline(airline);
+        }
+        if ((present & HAS_FLIGHT_INFO) != 0) {
+            Flight.FlightInfo info = new Flight.FlightInfo();
+            info.setNumber(in.readString());
+            info.setIata(in.readString());
+            info.setIcao(in.readString());
+            flight.setFlightInfo(info);
+        }
+        if ((present & HAS_AIRCRAFT) != 0) {
+            Flight.Aircraft aircraft = new Flight.Aircraft();
+            aircraft.setRegistration(in.readString());
+            aircraft.setIata(in.readString());
+            aircraft.setIcao(in.readString());
+            aircraft.setIcao24(in.readString());
+            flight.setAircraft(aircraft);
+        }
+        if ((present & HAS_LIVE) != 0) {
+            Flight.Live live = new Flight.Live();
+            in.readTime(live::setUpdatedPacked);
+            live.setLatitude(in.readDouble());
+            live.setLongitude(in.readDouble());
+            live.setAltitude(in.readDouble());
+            live.setDirection(in.readDouble());
+            live.setSpeedHorizontal(in.readDouble());
+            live.setSpeedVertical(in.readDouble());
+            live.setGround(in.read() != 0);
+            flight.setLive(live);
+        }
+        return flight;
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer() {
+            super(256);
+        }
+
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeTime(long packed, Supplier<String> raw) {
+            if (packed == FlightTimestamps.ABSENT) {
+                writeVarInt(ABSENT_TAG);
+            } else if (packed == FlightTimestamps.RAW) {
+                writeVarInt(RAW_TAG);
+                writeString(raw.get());
+            } else {
+                // Packed values stay within 49 bits, so the tag offset cannot overflow
+                writeVarLong(((packed << 1) ^ (packed >> 63)) + VALUE_TAG);
+            }
+        }
+
+        void writeDate(int epochDay, Supplier<String> raw) {
+            if (epochDay == FlightTimestamps.ABSENT_DATE) {
+                writeVarInt(ABSENT_TAG);
+            } else if (epochDay == FlightTimestamps.RAW_DATE) {
+                writeVarInt(RAW_TAG);
+                writeString(raw.get());
+            } else {
+                writeVarLong((((long) epochDay << 1) ^ (epochDay >> 31)) + VALUE_TAG);
+            }
+        }
+
+        void writeDouble(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (bits >>> shift));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int read() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated flight record");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = read();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in flight record");
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in flight record");
+        }
+
+        void readTime(PackedTimeSetter setter) {
+            long tag = readVarLong();
+            if (tag == ABSENT_TAG) {
+                setter.set(FlightTimestamps.ABSENT, null);
+            } else if (tag == RAW_TAG) {
+                setter.set(FlightTimestamps.RAW, readString());
+            } else {
+                long zigzag = tag - VALUE_TAG;
+                setter.set((zigzag >>> 1) ^ -(zigzag & 1), null);
+            }
+        }
+
+        void readDate(PackedDateSetter setter) {
+            long tag = readVarLong();
+            if (tag == ABSENT_TAG) {
+                setter.set(FlightTimestamps.ABSENT_DATE, null);
+            } else if (tag == RAW_TAG) {
+                setter.set(FlightTimestamps.RAW_DATE, readString());
+            } else {
+                long zigzag = tag - VALUE_TAG;
+                setter.set((int) ((zigzag >>> 1) ^ -(zigzag & 1)), null);
+            }
+        }
+
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > data.length - position) {
+                throw new IllegalArgumentException("Truncated flight record");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        double readDouble() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | read();
+            }
+            return Double.longBitsToDouble(bits);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PackedTimeSetter {
+        void set(long packed, String raw);
+    }
+
+    @FunctionalInterface
+    private interface PackedDateSetter {
+        void set(int epochDay, String raw);
+    }
+}
@@ -0,0 +1,33 @@
+package com.george.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.george.model.Flight;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+
+/**
+ * Kafka deserializer for the {@link FlightBinaryCodec} format. Records written by the previous JSON serializer
+ * are still accepted, so the topic can be switched over without draining it first.
+ */
+public class FlightBinaryDeserializer implements Deserializer<Flight> {
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    @Override
+    public Flight deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try {
+            if (FlightBinaryCodec.isBinary(data)) {
+                return FlightBinaryCodec.decode(data);
+            }
+            return objectMapper.readValue(data, Flight.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Can't deserialize flight record from topic " + topic, e);
+        }
+    }
+}
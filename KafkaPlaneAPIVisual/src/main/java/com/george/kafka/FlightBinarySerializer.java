@@ -0,0 +1,15 @@
+package com.george.kafka;
+
+import com.george.model.Flight;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka serializer writing flights in the {@link FlightBinaryCodec} format.
+ */
+public class FlightBinarySerializer implements Serializer<Flight> {
+
+    @Override
+    public byte[] serialize(String topic, Flight flight) {
+        return flight == null ? null : FlightBinaryCodec.encode(flight);
+    }
+}
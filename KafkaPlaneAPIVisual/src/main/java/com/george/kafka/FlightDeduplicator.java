@@ -0,0 +1,196 @@
+package com.george.kafka;
+
+import com.george.config.DedupConfig;
+import com.george.model.Flight;
+import com.george.model.FlightKeys;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recognizes flights whose content was already seen recently, by {@link FlightKeys#contentHash(Flight)}.
+ *
+ * <p>An exact cache holds the latest content hash of recently seen flights: a flight found there is a repeat only if
+ * its content is unchanged, so a real update is never dropped for a flight the cache still remembers. Flights that
+ * have aged out of the cache fall back to a time-decaying Bloom filter of content hashes, made of two generations
+ * that rotate every half window or when the current one fills up, so content is remembered for between half and a
+ * full window in bounded memory. Only that fallback is probabilistic, at the configured false-positive rate.</p>
+ *
+ * <p>Checking and recording are separate so callers record a flight only once it has been published or processed;
+ * a flight that fails downstream is then not mistaken for a repeat when it is retried.</p>
+ */
+public class FlightDeduplicator {
+
+    private final boolean enabled;
+    private final long generationNanos;
+    private final int generationCapacity;
+    private final int bits;
+    private final int hashes;
+    private final Cache<Long, Long> latest;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder exactRepeats = new LongAdder();
+    private final LongAdder filterRepeats = new LongAdder();
+    private final LongAdder rotations = new LongAdder();
+
+    public FlightDeduplicator(DedupConfig config) {
+        this.enabled = config.isEnabled();
+        this.generationNanos = Math.max(1, config.getWindow().toNanos() / 2);
+        this.generationCapacity = Math.max(1, config.getExpectedFlights());
+        double ln2 = Math.log(2);
+        this.bits = (int) Math.min(Integer.MAX_VALUE - 63,
+            Math.ceil(-generationCapacity * Math.log(config.getFalsePositiveRate()) / (ln2 * ln2)));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / generationCapacity * ln2));
+        this.latest = config.getExactCacheSize() > 0
+            ? Caffeine.newBuilder()
+                .maximumSize(config.getExactCacheSize())
+                .expireAfterWrite(config.getWindow())
+                .<Long, Long>build()
+            : null;
+        this.current = new Generation(bits, System.nanoTime());
+        this.previous = new Generation(bits, System.nanoTime());
+    }
+
+    /**
+     * Remembers the flight's current content.
+     */
+    public void record(Flight flight) {
+        if (!enabled) {
+            return;
+        }
+        long content = FlightKeys.contentHash(flight);
+        if (latest != null) {
+            latest.put(FlightKeys.identityKey(flight), content);
+        }
+        rotateIfDue();
+        current.add(content, bits, hashes);
+    }
+
+    public void recordAll(Collection<Flight> flights) {
+        for (Flight flight : flights) {
+            record(flight);
+        }
+    }
+
+    /**
+     * Flights that are not repeats, in their original order; nothing is recorded.
+     */
+    public List<Flight> changed(List<Flight> flights) {
+        List<Flight> changed = new ArrayList<>(flights.size());
+        for (Flight flight : flights) {
+            if (!isRepeat(flight)) {
+                changed.add(flight);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Whether the flight's content was already recorded within the window.
+     */
+    public boolean isRepeat(Flight flight) {
+        if (!enabled) {
+            passed.increment();
+            return false;
+        }
+        long content = FlightKeys.contentHash(flight);
+        Long last = latest != null ? latest.getIfPresent(FlightKeys.identityKey(flight)) : null;
+        if (last != null) {
+            if (last == content) {
+                exactRepeats.increment();
+                return true;
+            }
+        } else if (current.mightContain(content, bits, hashes) || previous.mightContain(content, bits, hashes)) {
+            filterRepeats.increment();
+            return true;
+        }
+        passed.increment();
+        return false;
+    }
+
+    private void rotateIfDue() {
+        Generation generation = current;
+        if (System.nanoTime() - generation.startedAt < generationNanos
+                && generation.insertions.get() < generationCapacity) {
+            return;
+        }
+        synchronized (this) {
+            if (current == generation) {
+                previous = generation;
+                current = new Generation(bits, System.nanoTime());
+                rotations.increment();
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+            "enabled", enabled,
+            "passed", passed.sum(),
+            "exactRepeats", exactRepeats.sum(),
+            "filterRepeats", filterRepeats.sum(),
+            "exactCacheSize", latest != null ? latest.estimatedSize() : 0L,
+            "filterBits", bits,
+            "filterHashes", hashes,
+            "rotations", rotations.sum());
+    }
+
+    private static final class Generation {
+        private final AtomicLongArray words;
+        private final long startedAt;
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        Generation(int bits, long startedAt) {
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+            this.startedAt = startedAt;
+        }
+
+        void add(long content, int bits, int hashes) {
+            long h = spread(content);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long value;
+                do {
+                    value = words.get(word);
+                } while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask));
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(long content, int bits, int hashes) {
+            long h = spread(content);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV output is weak in the low bits; remix before deriving filter positions
+        private static long spread(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            return h ^ (h >>> 33);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.george.kafka;
+
+import com.george.model.Flight;
+import com.george.model.FlightKeys;
+
+import java.util.Locale;
+
+/**
+ * How flights are keyed, and therefore partitioned, on the flights topic.
+ *
+ * <p>{@link #LEGACY} and {@link #FLIGHT} map all updates of one flight to the same key, so its updates stay on one
+ * partition and are consumed in order; they differ in how evenly a day's traffic spreads across partitions.
+ * {@link #ROUTE} does not give that guarantee.</p>
+ */
+public enum FlightKeyStrategy {
+
+    /**
+     * Flight date and departure airport. Every departure from a hub on one day shares a key, so busy airports
+     * produce hot partitions; kept for consumers that parse the old key format.
+     */
+    LEGACY {
+        @Override
+        public String key(Flight flight) {
+            String departure = flight.getDeparture() != null ? flight.getDeparture().getIata() : null;
+            return (flight.getFlightDate() != null && departure != null)
+                ? flight.getFlightDate() + "-" + departure
+                : "unknown-" + (departure != null ? departure : "unknown");
+        }
+    },
+
+    /**
+     * {@link FlightKeys#identity(Flight)}: one key per flight, which spreads load the most evenly.
+     */
+    FLIGHT {
+        @Override
+        public String key(Flight flight) {
+            return FlightKeys.identity(flight);
+        }
+    },
+
+    /**
+     * Flight date, departure and arrival airport, keeping flights on the same route and day together.
+     *
+     * <p>The key follows the flight's current arrival airport, so a diversion or a corrected arrival moves later
+     * updates to another key and partition. Those can then be consumed on another lane, before earlier updates of
+     * the same flight: this strategy gives up per-flight ordering.</p>
+     */
+    ROUTE {
+        @Override
+        public String key(Flight flight) {
+            return flight.getFlightDate()
+                + "|" + (flight.getDeparture() != null ? flight.getDeparture().getIata() : null)
+                + "|" + (flight.getArrival() != null ? flight.getArrival().getIata() : null);
+        }
+    };
+
+    public abstract String key(Flight flight);
+
+    /**
+     * Parses a strategy name case-insensitively, as written in configuration.
+     */
+    public static FlightKeyStrategy fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,61 @@
+package com.george.kafka;
+
+import com.george.model.Flight;
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Producer partitioner for the flights topic that hashes a {@link FlightKeyStrategy} key of the flight itself.
+ *
+ * <p>This decouples partitioning from the record key: the key can keep a format downstream consumers expect while
+ * partitions are chosen by a finer-grained strategy. The strategy is read from the {@value #STRATEGY_CONFIG}
+ * producer property; without it, or for values that are not flights, the record key is hashed as Kafka's default
+ * partitioner would. Records without any key are spread round-robin over the available partitions.</p>
+ */
+public class FlightPartitioner implements Partitioner {
+
+    public static final String STRATEGY_CONFIG = "flight.partition.strategy";
+
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private FlightKeyStrategy strategy;
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+        Object configured = configs.get(STRATEGY_CONFIG);
+        strategy = configured != null && !configured.toString().isBlank()
+            ? FlightKeyStrategy.fromName(configured.toString())
+            : null;
+    }
+
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+        int partitions = cluster.partitionCountForTopic(topic);
+        byte[] hashed = strategy != null && value instanceof Flight flight
+            ? strategy.key(flight).getBytes(StandardCharsets.UTF_8)
+            : keyBytes;
+        if (hashed != null) {
+            // Same murmur2 hash as Kafka's default partitioner for keyed records
+            return partitionFor(hashed, partitions);
+        }
+        List<PartitionInfo> available = cluster.availablePartitionsForTopic(topic);
+        int next = Utils.toPositive(roundRobin.getAndIncrement());
+        return available.isEmpty()
+            ? next % partitions
+            : available.get(next % available.size()).partition();
+    }
+
+    private static int partitionFor(byte[] keyBytes, int partitions) {
+        return Utils.toPositive(Utils.murmur2(keyBytes)) % partitions;
+    }
+
+    @Override
+    public void close() {
+    }
+}
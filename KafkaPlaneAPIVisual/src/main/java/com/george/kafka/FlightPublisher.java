@@ -0,0 +1,243 @@
+package com.george.kafka;
+
+import com.george.config.DedupConfig;
+import com.george.model.Flight;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes flights to Kafka through a bounded queue drained by a dedicated thread.
+ *
+ * <p>Callers only enqueue, so reactive threads never block on the producer; when the queue is full the flight is
+ * dropped and counted. The publisher thread sends each drained batch without waiting for the previous batch to be
+ * acknowledged and records every batch's outcome once all of its send futures complete.</p>
+ *
+ * <p>Records are keyed by the configured {@link FlightKeyStrategy}. Acknowledged sends are counted per partition so
+ * {@link #stats()} can report how evenly the key strategy spreads load: the skew is the busiest partition's count
+ * over the mean across the topic's partitions, 1.0 being perfectly even.</p>
+ *
+ * <p>Polling republishes the same flights over and over, so flights whose content is unchanged since they were last
+ * acknowledged are skipped before they reach the queue.</p>
+ */
+@Component
+public class FlightPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightPublisher.class);
+
+    private static final long PARTITION_LOOKUP_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final KafkaTemplate<String, Flight> kafkaTemplate;
+    private final String flightTopic;
+    private final BlockingQueue<Flight> queue;
+    private final int maxBatchSize;
+    private final FlightKeyStrategy keyStrategy;
+    private final FlightDeduplicator deduplicator;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder acknowledged = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final Map<Integer, LongAdder> partitionCounts = new ConcurrentHashMap<>();
+    private final long startedAt = System.nanoTime();
+
+    private volatile int partitionCount;
+    private long nextPartitionLookup = System.nanoTime(); // publisher thread only
+    private volatile boolean running;
+    private Thread publisherThread;
+
+    public FlightPublisher(
+            KafkaTemplate<String, Flight> kafkaTemplate,
+            @Value("${kafka.topic.flights}") String flightTopic,
+            @Value("${kafka.publisher.queue-capacity:10000}") int queueCapacity,
+            @Value("${kafka.publisher.max-batch-size:500}") int maxBatchSize,
+            @Value("${kafka.publisher.key-strategy:flight}") String keyStrategy,
+            DedupConfig dedupConfig) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.flightTopic = flightTopic;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.keyStrategy = FlightKeyStrategy.fromName(keyStrategy);
+        this.deduplicator = new FlightDeduplicator(dedupConfig);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        publisherThread = new Thread(this::run, "flight-publisher");
+        publisherThread.setDaemon(true);
+        publisherThread.start();
+        logger.info("FlightPublisher started for topic: {} with {} keys", flightTopic, keyStrategy);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        publisherThread.join(TimeUnit.SECONDS.toMillis(5));
+        kafkaTemplate.flush();
+        logger.info("FlightPublisher stopped: {}", stats());
+    }
+
+    /**
+     * Enqueues a flight for publishing without blocking.
+     *
+     * @return {@code false} if the queue was full and the flight was dropped.
+     */
+    public boolean publish(Flight flight) {
+        if (deduplicator.isRepeat(flight)) {
+            unchanged.increment();
+            return true;
+        }
+        if (queue.offer(flight)) {
+            enqueued.increment();
+            return true;
+        }
+        dropped.increment();
+        logger.warn("Publish queue full, dropped flight: {}", flight);
+        return false;
+    }
+
+    private void run() {
+        List<Flight> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Flight first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Error publishing batch of {} flights: {}", batch.size(), e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<Flight> batch) {
+        long start = System.nanoTime();
+        int size = batch.size();
+        if (partitionCount <= 0 && start - nextPartitionLookup >= 0) {
+            // Looked up on the publisher thread, since it can block on a metadata fetch; a failed lookup is retried
+            // at most every 30 seconds
+            partitionCount = lookupPartitionCount();
+            nextPartitionLookup = start + PARTITION_LOOKUP_RETRY_NANOS;
+        }
+        List<CompletableFuture<SendResult<String, Flight>>> futures = new ArrayList<>(batch.size());
+        for (Flight flight : batch) {
+            try {
+                futures.add(kafkaTemplate.send(flightTopic, keyStrategy.key(flight), flight));
+                sent.increment();
+            } catch (Exception e) {
+                failed.increment();
+                logger.error("Error sending flight to Kafka: {}", e.getMessage(), e);
+            }
+        }
+        batches.increment();
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .whenComplete((ignored, error) -> {
+                int ok = 0;
+                for (CompletableFuture<SendResult<String, Flight>> future : futures) {
+                    if (future.isCompletedExceptionally()) {
+                        failed.increment();
+                    } else {
+                        acknowledged.increment();
+                        ok++;
+                        SendResult<String, Flight> result = future.join();
+                        // Only acknowledged flights count as published, so a failed send is retried on the next poll
+                        deduplicator.record(result.getProducerRecord().value());
+                        int partition = result.getRecordMetadata().partition();
+                        partitionCounts.computeIfAbsent(partition, p -> new LongAdder()).increment();
+                    }
+                }
+                long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (ok == size) {
+                    logger.debug("Published batch of {} flights in {} ms", ok, elapsedMs);
+                } else {
+                    logger.warn("Published batch with failures: {} of {} flights acknowledged in {} ms ({})",
+                        ok, size, elapsedMs, error != null ? error.getMessage() : "send error");
+                }
+            });
+    }
+
+    private int lookupPartitionCount() {
+        try {
+            return kafkaTemplate.partitionsFor(flightTopic).size();
+        } catch (Exception e) {
+            logger.warn("Could not read partition count for topic {}: {}", flightTopic, e.getMessage());
+            return -1;
+        }
+    }
+
+    private Map<Integer, Long> partitionCountsSnapshot() {
+        Map<Integer, Long> snapshot = new TreeMap<>();
+        partitionCounts.forEach((partition, count) -> snapshot.put(partition, count.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Busiest partition's acknowledged count over the mean per partition; partitions that received nothing count
+     * towards the mean, so a single hot partition on a 12-partition topic reports a skew of 12.
+     */
+    double partitionSkew() {
+        long max = 0;
+        long total = 0;
+        for (LongAdder count : partitionCounts.values()) {
+            long value = count.sum();
+            max = Math.max(max, value);
+            total += value;
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+        int partitions = Math.max(partitionCount, partitionCounts.size());
+        return max / ((double) total / partitions);
+    }
+
+    /**
+     * Current publishing counters and throughput since startup.
+     */
+    public Map<String, Object> stats() {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startedAt) / 1e9);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enqueued", enqueued.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("unchanged", unchanged.sum());
+        stats.put("sent", sent.sum());
+        stats.put("acknowledged", acknowledged.sum());
+        stats.put("failed", failed.sum());
+        stats.put("batches", batches.sum());
+        stats.put("queued", queue.size());
+        stats.put("acknowledgedPerSecond", acknowledged.sum() / seconds);
+        stats.put("partitionCounts", partitionCountsSnapshot());
+        stats.put("partitionSkew", partitionSkew());
+        stats.put("dedup", deduplicator.stats());
+        return stats;
+    }
+}
@@ -0,0 +1,97 @@
+package com.george.logging;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of latencies in nanoseconds.
+ *
+ * <p>Each power of two is split into eight linear sub-buckets, so any recorded value is reported within 12.5% of its
+ * true value over the whole range of a {@code long}, in a fixed 488 counters. Recording is an index computation and
+ * one atomic increment; percentiles are only computed when a snapshot is taken.</p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        total.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Value at the given quantile (0 to 1), as the upper bound of the bucket it falls in.
+     */
+    public long quantile(double quantile) {
+        long samples = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            samples += snapshot[i];
+        }
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * samples));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Sample count, mean, p50/p90/p99 and max in microseconds.
+     */
+    public Map<String, Object> snapshot() {
+        long samples = count.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("samples", samples);
+        snapshot.put("meanMicros", samples > 0 ? total.sum() / samples / 1_000.0 : 0.0);
+        snapshot.put("p50Micros", quantile(0.50) / 1_000.0);
+        snapshot.put("p90Micros", quantile(0.90) / 1_000.0);
+        snapshot.put("p99Micros", quantile(0.99) / 1_000.0);
+        snapshot.put("maxMicros", max.get() / 1_000.0);
+        return snapshot;
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
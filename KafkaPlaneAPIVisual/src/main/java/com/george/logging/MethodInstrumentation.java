@@ -0,0 +1,138 @@
+package com.george.logging;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records call counts, errors and sampled latency histograms for service and consumer methods.
+ *
+ * <p>Every call is counted, and every error is counted and logged, whether it is thrown or signalled by a returned
+ * publisher or future. Only a sampled fraction of calls is timed, and arguments are never formatted. For methods
+ * returning a {@link Mono}, {@link Flux} or {@link CompletableFuture} the timer covers execution rather than
+ * assembly: it starts when the publisher is subscribed to and stops when it terminates or is cancelled, so each
+ * subscription is one sample.</p>
+ */
+@Aspect
+@Component
+public class MethodInstrumentation {
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodInstrumentation.class);
+
+    private final double sampleRate;
+    private final Map<Method, MethodStats> methods = new ConcurrentHashMap<>();
+
+    public MethodInstrumentation(@Value("${instrumentation.sample-rate:0.1}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Around("execution(* com.george.service.*.*(..)) || execution(* com.george.consumer.*.*(..))")
+    public Object instrument(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodStats stats = statsFor((MethodSignature) joinPoint.getSignature());
+        stats.calls.increment();
+        boolean timed = sampled();
+        long start = timed ? System.nanoTime() : 0L;
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable throwable) {
+            stats.error(throwable);
+            throw throwable;
+        }
+
+        // Errors signalled asynchronously are counted and logged on every call; only the timing is sampled
+        if (result instanceof Mono<?> mono) {
+            Mono<?> counted = mono.doOnError(stats::error);
+            return timed ? Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                return counted.doFinally(signal -> stats.record(subscribed));
+            }) : counted;
+        }
+        if (result instanceof Flux<?> flux) {
+            Flux<?> counted = flux.doOnError(stats::error);
+            return timed ? Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                return counted.doFinally(signal -> stats.record(subscribed));
+            }) : counted;
+        }
+        if (result instanceof CompletableFuture<?> future) {
+            future.whenComplete((value, error) -> {
+                if (error != null) {
+                    stats.error(error);
+                }
+                if (timed) {
+                    stats.record(start);
+                }
+            });
+            return result;
+        }
+        if (timed) {
+            stats.record(start);
+        }
+        return result;
+    }
+
+    // Keyed by Method: Spring creates a new join point, and static part, for every invocation
+    private MethodStats statsFor(MethodSignature signature) {
+        MethodStats stats = methods.get(signature.getMethod());
+        return stats != null
+            ? stats
+            : methods.computeIfAbsent(signature.getMethod(), method -> new MethodStats(signature.toShortString()));
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Per-method counters and latency percentiles, keyed by method. Calls and errors, whether thrown or signalled by
+     * a reactive or future result, are counted on every call; the percentiles cover the sampled calls only.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> byMethod = new TreeMap<>();
+        for (MethodStats stats : methods.values()) {
+            Map<String, Object> method = new LinkedHashMap<>();
+            method.put("calls", stats.calls.sum());
+            method.put("errors", stats.errors.sum());
+            method.putAll(stats.latency.snapshot());
+            byMethod.put(stats.name, method);
+        }
+        return Map.of("sampleRate", sampleRate, "methods", byMethod);
+    }
+
+    private static final class MethodStats {
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        MethodStats(String name) {
+            this.name = name;
+        }
+
+        void record(long startNanos) {
+            latency.record(System.nanoTime() - startNanos);
+        }
+
+        void error(Throwable error) {
+            errors.increment();
+            logger.error("Exception in method: {} - {}", name, error.getMessage(), error);
+        }
+    }
+}
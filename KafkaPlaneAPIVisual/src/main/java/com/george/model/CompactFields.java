@@ -0,0 +1,61 @@
+package com.george.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base for model classes that keep timestamps and enums in packed form. Values that cannot be packed losslessly
+ * are kept verbatim in a side map that is only allocated when needed.
+ */
+abstract class CompactFields {
+
+    private Map<String, String> rawValues;
+
+    long packTime(String field, String value) {
+        long packed = FlightTimestamps.pack(value);
+        keepRaw(field, packed == FlightTimestamps.RAW ? value : null);
+        return packed;
+    }
+
+    String unpackTime(String field, long packed) {
+        return packed == FlightTimestamps.RAW ? raw(field) : FlightTimestamps.format(packed);
+    }
+
+    /**
+     * Takes an already packed timestamp, with its verbatim text if it is {@link FlightTimestamps#RAW}.
+     */
+    long restoreTime(String field, long packed, String raw) {
+        keepRaw(field, packed == FlightTimestamps.RAW ? raw : null);
+        return packed;
+    }
+
+    int packDate(String field, String value) {
+        int packed = FlightTimestamps.packDate(value);
+        keepRaw(field, packed == FlightTimestamps.RAW_DATE ? value : null);
+        return packed;
+    }
+
+    int restoreDate(String field, int packed, String raw) {
+        keepRaw(field, packed == FlightTimestamps.RAW_DATE ? raw : null);
+        return packed;
+    }
+
+    String unpackDate(String field, int packed) {
+        return packed == FlightTimestamps.RAW_DATE ? raw(field) : FlightTimestamps.formatDate(packed);
+    }
+
+    void keepRaw(String field, String value) {
+        if (value != null) {
+            if (rawValues == null) {
+                rawValues = new HashMap<>(4);
+            }
+            rawValues.put(field, value);
+        } else if (rawValues != null) {
+            rawValues.remove(field);
+        }
+    }
+
+    String raw(String field) {
+        return rawValues != null ? rawValues.get(field) : null;
+    }
+}
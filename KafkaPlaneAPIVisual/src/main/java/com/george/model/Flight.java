@@ -1,25 +1,36 @@
 package com.george.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-public class Flight {
-    @JsonProperty("flight_date")
-    private String flightDate;
-
-    @JsonProperty("flight_status")
-    private String flightStatus;
+/**
+ * A flight as published by AviationStack.
+ *
+ * <p>Instances are kept by the thousand in caches and the state store, so the representation is compact: codes,
+ * names and other low-cardinality strings are shared through {@link StringPool}, timestamps are packed into
+ * primitives by {@link FlightTimestamps} and the status is a {@link FlightStatus}. The string getters and
+ * setters keep the upstream JSON shape.</p>
+ */
+public class Flight extends CompactFields {
+    private int flightDate = FlightTimestamps.ABSENT_DATE;
+    private FlightStatus flightStatus;
 
     private Departure departure;
     private Arrival arrival;
     private Airline airline;
+    @JsonProperty("flight")
+    private FlightInfo flightInfo;
     private Aircraft aircraft;
     private Live live;
     
     private String predictedStatus; // AI-predicted status
+
+    private long identityKey;
+    private volatile boolean identityKeyComputed;
     
     
 
-    public static class Departure {
+    public static class Departure extends CompactFields {
         private String airport;
         private String timezone;
         private String iata;
@@ -27,38 +38,67 @@ public class Flight {
         private String terminal;
         private String gate;
         private String delay;
-        private String scheduled;
-        private String estimated;
-        private String actual;
-        @JsonProperty("estimated_runway")
-        private String estimatedRunway;
-        @JsonProperty("actual_runway")
-        private String actualRunway;
+        private long scheduled = FlightTimestamps.ABSENT;
+        private long estimated = FlightTimestamps.ABSENT;
+        private long actual = FlightTimestamps.ABSENT;
+        private long estimatedRunway = FlightTimestamps.ABSENT;
+        private long actualRunway = FlightTimestamps.ABSENT;
 
         public String getAirport() { return airport; }
-        public void setAirport(String airport) { this.airport = airport; }
+        public void setAirport(String airport) { this.airport = StringPool.intern(airport); }
         public String getTimezone() { return timezone; }
-        public void setTimezone(String timezone) { this.timezone = timezone; }
+        public void setTimezone(String timezone) { this.timezone = StringPool.intern(timezone); }
         public String getIata() { return iata; }
-        public void setIata(String iata) { this.iata = iata; }
+        public void setIata(String iata) { this.iata = StringPool.intern(iata); }
         public String getIcao() { return icao; }
-        public void setIcao(String icao) { this.icao = icao; }
+        public void setIcao(String icao) { this.icao = StringPool.intern(icao); }
         public String getTerminal() { return terminal; }
-        public void setTerminal(String terminal) { this.terminal = terminal; }
+        public void setTerminal(String terminal) { this.terminal = StringPool.intern(terminal); }
         public String getGate() { return gate; }
-        public void setGate(String gate) { this.gate = gate; }
+        public void setGate(String gate) { this.gate = StringPool.intern(gate); }
         public String getDelay() { return delay; }
-        public void setDelay(String delay) { this.delay = delay; }
-        public String getScheduled() { return scheduled; }
-        public void setScheduled(String scheduled) { this.scheduled = scheduled; }
-        public String getEstimated() { return estimated; }
-        public void setEstimated(String estimated) { this.estimated = estimated; }
-        public String getActual() { return actual; }
-        public void setActual(String actual) { this.actual = actual; }
-        public String getEstimatedRunway() { return estimatedRunway; }
-        public void setEstimatedRunway(String estimatedRunway) { this.estimatedRunway = estimatedRunway; }
-        public String getActualRunway() { return actualRunway; }
-        public void setActualRunway(String actualRunway) { this.actualRunway = actualRunway; }
+        public void setDelay(String delay) { this.delay = StringPool.intern(delay); }
+        public String getScheduled() { return unpackTime("scheduled", scheduled); }
+        public void setScheduled(String scheduled) { this.scheduled = packTime("scheduled", scheduled); }
+        public String getEstimated() { return unpackTime("estimated", estimated); }
+        public void setEstimated(String estimated) { this.estimated = packTime("estimated", estimated); }
+        public String getActual() { return unpackTime("actual", actual); }
+        public void setActual(String actual) { this.actual = packTime("actual", actual); }
+        @JsonProperty("estimated_runway")
+        public String getEstimatedRunway() { return unpackTime("estimatedRunway", estimatedRunway); }
+        @JsonProperty("estimated_runway")
+        public void setEstimatedRunway(String estimatedRunway) { this.estimatedRunway = packTime("estimatedRunway", estimatedRunway); }
+        @JsonProperty("actual_runway")
+        public String getActualRunway() { return unpackTime("actualRunway", actualRunway); }
+        @JsonProperty("actual_runway")
+        public void setActualRunway(String actualRunway) { this.actualRunway = packTime("actualRunway", actualRunway); }
+        @JsonIgnore
+        public long getScheduledPacked() { return scheduled; }
+        public void setScheduledPacked(long packed, String raw) { this.scheduled = restoreTime("scheduled", packed, raw); }
+        @JsonIgnore
+        public long getEstimatedPacked() { return estimated; }
+        public void setEstimatedPacked(long packed, String raw) { this.estimated = restoreTime("estimated", packed, raw); }
+        @JsonIgnore
+        public long getActualPacked() { return actual; }
+        public void setActualPacked(long packed, String raw) { this.actual = restoreTime("actual", packed, raw); }
+        @JsonIgnore
+        public long getEstimatedRunwayPacked() { return estimatedRunway; }
+        public void setEstimatedRunwayPacked(long packed, String raw) { this.estimatedRunway = restoreTime("estimatedRunway", packed, raw); }
+        @JsonIgnore
+        public long getActualRunwayPacked() { return actualRunway; }
+        public void setActualRunwayPacked(long packed, String raw) { this.actualRunway = restoreTime("actualRunway", packed, raw); }
+        @JsonIgnore
+        public long getScheduledEpochSecond() { return FlightTimestamps.epochSecond(scheduled); }
+        @JsonIgnore
+        public long getEstimatedEpochSecond() { return FlightTimestamps.epochSecond(estimated); }
+        @JsonIgnore
+        public long getActualEpochSecond() { return FlightTimestamps.epochSecond(actual); }
+        @JsonIgnore
+        public int getScheduledLocalHour() { return FlightTimestamps.localHour(scheduled); }
+        @JsonIgnore
+        public int getScheduledLocalDayOfWeek() { return FlightTimestamps.localDayOfWeek(scheduled); }
+        @JsonIgnore
+        public int getDelayMinutes() { return FlightTimestamps.minutes(delay); }
 
         @Override
         public String toString() {
@@ -66,7 +106,7 @@ public class Flight {
         }
     }
 
-    public static class Arrival {
+    public static class Arrival extends CompactFields {
         private String airport;
         private String timezone;
         private String iata;
@@ -75,40 +115,65 @@ public class Flight {
         private String gate;
         private String baggage;
         private String delay;
-        private String scheduled;
-        private String estimated;
-        private String actual;
-        @JsonProperty("estimated_runway")
-        private String estimatedRunway;
-        @JsonProperty("actual_runway")
-        private String actualRunway;
+        private long scheduled = FlightTimestamps.ABSENT;
+        private long estimated = FlightTimestamps.ABSENT;
+        private long actual = FlightTimestamps.ABSENT;
+        private long estimatedRunway = FlightTimestamps.ABSENT;
+        private long actualRunway = FlightTimestamps.ABSENT;
 
         public String getAirport() { return airport; }
-        public void setAirport(String airport) { this.airport = airport; }
+        public void setAirport(String airport) { this.airport = StringPool.intern(airport); }
         public String getTimezone() { return timezone; }
-        public void setTimezone(String timezone) { this.timezone = timezone; }
+        public void setTimezone(String timezone) { this.timezone = StringPool.intern(timezone); }
         public String getIata() { return iata; }
-        public void setIata(String iata) { this.iata = iata; }
+        public void setIata(String iata) { this.iata = StringPool.intern(iata); }
         public String getIcao() { return icao; }
-        public void setIcao(String icao) { this.icao = icao; }
+        public void setIcao(String icao) { this.icao = StringPool.intern(icao); }
         public String getTerminal() { return terminal; }
-        public void setTerminal(String terminal) { this.terminal = terminal; }
+        public void setTerminal(String terminal) { this.terminal = StringPool.intern(terminal); }
         public String getGate() { return gate; }
-        public void setGate(String gate) { this.gate = gate; }
+        public void setGate(String gate) { this.gate = StringPool.intern(gate); }
         public String getBaggage() { return baggage; }
-        public void setBaggage(String baggage) { this.baggage = baggage; }
+        public void setBaggage(String baggage) { this.baggage = StringPool.intern(baggage); }
         public String getDelay() { return delay; }
-        public void setDelay(String delay) { this.delay = delay; }
-        public String getScheduled() { return scheduled; }
-        public void setScheduled(String scheduled) { this.scheduled = scheduled; }
-        public String getEstimated() { return estimated; }
-        public void setEstimated(String estimated) { this.estimated = estimated; }
-        public String getActual() { return actual; }
-        public void setActual(String actual) { this.actual = actual; }
-        public String getEstimatedRunway() { return estimatedRunway; }
-        public void setEstimatedRunway(String estimatedRunway) { this.estimatedRunway = estimatedRunway; }
-        public String getActualRunway() { return actualRunway; }
-        public void setActualRunway(String actualRunway) { this.actualRunway = actualRunway; }
+        public void setDelay(String delay) { this.delay = StringPool.intern(delay); }
+        public String getScheduled() { return unpackTime("scheduled", scheduled); }
+        public void setScheduled(String scheduled) { this.scheduled = packTime("scheduled", scheduled); }
+        public String getEstimated() { return unpackTime("estimated", estimated); }
+        public void setEstimated(String estimated) { this.estimated = packTime("estimated", estimated); }
+        public String getActual() { return unpackTime("actual", actual); }
+        public void setActual(String actual) { this.actual = packTime("actual", actual); }
+        @JsonProperty("estimated_runway")
+        public String getEstimatedRunway() { return unpackTime("estimatedRunway", estimatedRunway); }
+        @JsonProperty("estimated_runway")
+        public void setEstimatedRunway(String estimatedRunway) { this.estimatedRunway = packTime("estimatedRunway", estimatedRunway); }
+        @JsonProperty("actual_runway")
+        public String getActualRunway() { return unpackTime("actualRunway", actualRunway); }
+        @JsonProperty("actual_runway")
+        public void setActualRunway(String actualRunway) { this.actualRunway = packTime("actualRunway", actualRunway); }
+        @JsonIgnore
+        public long getScheduledPacked() { return scheduled; }
+        public void setScheduledPacked(long packed, String raw) { this.scheduled = restoreTime("scheduled", packed, raw); }
+        @JsonIgnore
+        public long getEstimatedPacked() { return estimated; }
+        public void setEstimatedPacked(long packed, String raw) { this.estimated = restoreTime("estimated", packed, raw); }
+        @JsonIgnore
+        public long getActualPacked() { return actual; }
+        public void setActualPacked(long packed, String raw) { this.actual = restoreTime("actual", packed, raw); }
+        @JsonIgnore
+        public long getEstimatedRunwayPacked() { return estimatedRunway; }
+        public void setEstimatedRunwayPacked(long packed, String raw) { this.estimatedRunway = restoreTime("estimatedRunway", packed, raw); }
+        @JsonIgnore
+        public long getActualRunwayPacked() { return actualRunway; }
+        public void setActualRunwayPacked(long packed, String raw) { this.actualRunway = restoreTime("actualRunway", packed, raw); }
+        @JsonIgnore
+        public long getScheduledEpochSecond() { return FlightTimestamps.epochSecond(scheduled); }
+        @JsonIgnore
+        public long getEstimatedEpochSecond() { return FlightTimestamps.epochSecond(estimated); }
+        @JsonIgnore
+        public long getActualEpochSecond() { return FlightTimestamps.epochSecond(actual); }
+        @JsonIgnore
+        public int getDelayMinutes() { return FlightTimestamps.minutes(delay); }
 
         @Override
         public String toString() {
@@ -121,11 +186,34 @@ public class Flight {
         private String iata;
         private String icao;
 
-        public Airline(String string, String string2) {
-			
-		}
-		public String getName() { return name; }
-        public void setName(String name) { this.name = name; }
+        public Airline() {
+        }
+
+        public Airline(String iata, String name) {
+            setIata(iata);
+            setName(name);
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = StringPool.intern(name); }
+        public String getIata() { return iata; }
+        public void setIata(String iata) { this.iata = StringPool.intern(iata); }
+        public String getIcao() { return icao; }
+        public void setIcao(String icao) { this.icao = StringPool.intern(icao); }
+
+        @Override
+        public String toString() {
+            return "Airline{name='" + name + "', iata='" + iata + "'}";
+        }
+    }
+
+    public static class FlightInfo {
+        private String number;
+        private String iata;
+        private String icao;
+
+        public String getNumber() { return number; }
+        public void setNumber(String number) { this.number = number; }
         public String getIata() { return iata; }
         public void setIata(String iata) { this.iata = iata; }
         public String getIcao() { return icao; }
@@ -133,7 +221,7 @@ public class Flight {
 
         @Override
         public String toString() {
-            return "Airline{name='" + name + "', iata='" + iata + "'}";
+            return "FlightInfo{iata='" + iata + "'}";
         }
     }
 
@@ -146,9 +234,9 @@ public class Flight {
         public String getRegistration() { return registration; }
         public void setRegistration(String registration) { this.registration = registration; }
         public String getIata() { return iata; }
-        public void setIata(String iata) { this.iata = iata; }
+        public void setIata(String iata) { this.iata = StringPool.intern(iata); }
         public String getIcao() { return icao; }
-        public void setIcao(String icao) { this.icao = icao; }
+        public void setIcao(String icao) { this.icao = StringPool.intern(icao); }
         public String getIcao24() { return icao24; }
         public void setIcao24(String icao24) { this.icao24 = icao24; }
 
@@ -158,8 +246,8 @@ public class Flight {
         }
     }
 
-    public static class Live {
-        private String updated;
+    public static class Live extends CompactFields {
+        private long updated = FlightTimestamps.ABSENT;
         private double latitude;
         private double longitude;
         private double altitude;
@@ -171,8 +259,13 @@ public class Flight {
         @JsonProperty("is_ground")
         private boolean isGround;
 
-        public String getUpdated() { return updated; }
-        public void setUpdated(String updated) { this.updated = updated; }
+        public String getUpdated() { return unpackTime("updated", updated); }
+        public void setUpdated(String updated) { this.updated = packTime("updated", updated); }
+        @JsonIgnore
+        public long getUpdatedPacked() { return updated; }
+        public void setUpdatedPacked(long packed, String raw) { this.updated = restoreTime("updated", packed, raw); }
+        @JsonIgnore
+        public long getUpdatedEpochSecond() { return FlightTimestamps.epochSecond(updated); }
         public double getLatitude() { return latitude; }
         public void setLatitude(double latitude) { this.latitude = latitude; }
         public double getLongitude() { return longitude; }
@@ -190,30 +283,101 @@ public class Flight {
 
         @Override
         public String toString() {
-            return "Live{updated='" + updated + "'}";
+            return "Live{updated='" + getUpdated() + "'}";
         }
     }
 
-    public String getFlightDate() { return flightDate; }
-    public void setFlightDate(String flightDate) { this.flightDate = flightDate; }
-    public String getFlightStatus() { return flightStatus; }
-    public void setFlightStatus(String flightStatus) { this.flightStatus = flightStatus; }
+    @JsonProperty("flight_date")
+    public String getFlightDate() { return unpackDate("flightDate", flightDate); }
+    @JsonProperty("flight_date")
+    public void setFlightDate(String flightDate) {
+        this.flightDate = packDate("flightDate", flightDate);
+        identityKeyComputed = false;
+    }
+    @JsonIgnore
+    public int getFlightDateEpochDay() { return flightDate; }
+    public void setFlightDateEpochDay(int epochDay, String raw) {
+        this.flightDate = restoreDate("flightDate", epochDay, raw);
+        identityKeyComputed = false;
+    }
+    @JsonProperty("flight_status")
+    public String getFlightStatus() { return flightStatus != null ? flightStatus.value() : raw("flightStatus"); }
+    @JsonProperty("flight_status")
+    public void setFlightStatus(String flightStatus) {
+        this.flightStatus = FlightStatus.fromValue(flightStatus);
+        keepRaw("flightStatus", this.flightStatus == null ? flightStatus : null);
+    }
+    @JsonIgnore
+    public FlightStatus getStatus() { return flightStatus; }
+    @JsonIgnore
+    public void setStatus(FlightStatus status) {
+        this.flightStatus = status;
+        keepRaw("flightStatus", null);
+    }
     public Departure getDeparture() { return departure; }
-    public void setDeparture(Departure departure) { this.departure = departure; }
+    public void setDeparture(Departure departure) {
+        this.departure = departure;
+        identityKeyComputed = false;
+    }
     public Arrival getArrival() { return arrival; }
-    public void setArrival(Arrival arrival) { this.arrival = arrival; }
+    public void setArrival(Arrival arrival) {
+        this.arrival = arrival;
+        identityKeyComputed = false;
+    }
     public Airline getAirline() { return airline; }
-    public void setAirline(Airline airline) { this.airline = airline; }
+    public void setAirline(Airline airline) {
+        this.airline = airline;
+        identityKeyComputed = false;
+    }
+    public FlightInfo getFlightInfo() { return flightInfo; }
+    public void setFlightInfo(FlightInfo flightInfo) {
+        this.flightInfo = flightInfo;
+        identityKeyComputed = false;
+    }
     public Aircraft getAircraft() { return aircraft; }
     public void setAircraft(Aircraft aircraft) { this.aircraft = aircraft; }
     public Live getLive() { return live; }
     public void setLive(Live live) { this.live = live; }
 
+    /**
+     * 64-bit identity key from {@link FlightKeys#identityKey(Flight)}, computed on first use. Flights are treated as
+     * immutable once built: replacing the date, airline, flight info or route resets the key, but editing those
+     * nested objects in place afterwards does not.
+     */
+    @JsonIgnore
+    public long getIdentityKey() {
+        if (!identityKeyComputed) {
+            identityKey = FlightKeys.identityKey(this);
+            identityKeyComputed = true;
+        }
+        return identityKey;
+    }
+
+    /**
+     * Two flights are equal when they are the same flight ({@link FlightKeys#identity(Flight)}), regardless of
+     * their current status or times.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Flight other)) {
+            return false;
+        }
+        return getIdentityKey() == other.getIdentityKey() && FlightKeys.sameIdentity(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(getIdentityKey());
+    }
+
     @Override
     public String toString() {
         return "Flight{" +
-                "flightDate='" + flightDate + '\'' +
-                ", flightStatus='" + flightStatus + '\'' +
+                "flightDate='" + getFlightDate() + '\'' +
+                ", flightStatus='" + getFlightStatus() + '\'' +
                 ", departure=" + (departure != null ? departure : "null") +
                 ", arrival=" + (arrival != null ? arrival : "null") +
                 ", airline=" + (airline != null ? airline : "null") +
@@ -223,6 +387,6 @@ public class Flight {
 		return predictedStatus;
 	}
 	public void setPredictedStatus(String predictedStatus) {
-		this.predictedStatus = predictedStatus;
+		this.predictedStatus = StringPool.intern(predictedStatus);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,218 @@
+package com.george.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Stable keys for {@link Flight} records.
+ */
+public final class FlightKeys {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private FlightKeys() {
+    }
+
+    /**
+     * Identity of a flight across polls: flight date, airline and flight number. Flights without a flight number
+     * fall back to date, route and scheduled departure.
+     */
+    public static String identity(Flight flight) {
+        String number = flightNumber(flight);
+        if (number != null) {
+            return flight.getFlightDate() + "|" + airlineCode(flight) + "|" + number;
+        }
+        Flight.Departure departure = flight.getDeparture();
+        Flight.Arrival arrival = flight.getArrival();
+        return flight.getFlightDate() + "|" + (departure != null ? departure.getIata() : null)
+            + "|" + (arrival != null ? arrival.getIata() : null)
+            + "|" + (departure != null ? departure.getScheduled() : null);
+    }
+
+    /**
+     * 64-bit hash of {@link #identity(Flight)}, computed from the packed fields without building the string.
+     */
+    public static long identityKey(Flight flight) {
+        long h = mix(FNV_OFFSET, flight.getFlightDateEpochDay());
+        String number = flightNumber(flight);
+        if (number != null) {
+            h = mix(h, airlineCode(flight));
+            return mix(h, number);
+        }
+        Flight.Departure departure = flight.getDeparture();
+        Flight.Arrival arrival = flight.getArrival();
+        h = mix(h, 0x1F);
+        h = mix(h, departure != null ? departure.getIata() : null);
+        h = mix(h, arrival != null ? arrival.getIata() : null);
+        return mix(h, departure != null ? departure.getScheduledEpochSecond() : Long.MIN_VALUE);
+    }
+
+    /**
+     * Whether two flights have the same {@link #identity(Flight)}. Used to confirm an {@link #identityKey(Flight)}
+     * match, so a hash collision never merges two different flights.
+     */
+    public static boolean sameIdentity(Flight a, Flight b) {
+        if (a.getFlightDateEpochDay() != b.getFlightDateEpochDay()
+                || !Objects.equals(a.getFlightDate(), b.getFlightDate())) {
+            return false;
+        }
+        String number = flightNumber(a);
+        if (number != null || flightNumber(b) != null) {
+            return Objects.equals(number, flightNumber(b)) && Objects.equals(airlineCode(a), airlineCode(b));
+        }
+        Flight.Departure depA = a.getDeparture();
+        Flight.Departure depB = b.getDeparture();
+        Flight.Arrival arrA = a.getArrival();
+        Flight.Arrival arrB = b.getArrival();
+        return Objects.equals(depA != null ? depA.getIata() : null, depB != null ? depB.getIata() : null)
+            && Objects.equals(arrA != null ? arrA.getIata() : null, arrB != null ? arrB.getIata() : null)
+            && Objects.equals(depA != null ? depA.getScheduled() : null, depB != null ? depB.getScheduled() : null);
+    }
+
+    /**
+     * Removes repeated flights, keeping the most recent occurrence of each at the position it was first seen.
+     */
+    public static List<Flight> distinct(Collection<Flight> flights) {
+        Map<Flight, Flight> latest = new LinkedHashMap<>(flights.size() * 2);
+        for (Flight flight : flights) {
+            if (flight != null) {
+                latest.put(flight, flight);
+            }
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    /**
+     * Airline code of the flight: IATA, else ICAO, else the airline name.
+     */
+    public static String airlineCode(Flight flight) {
+        Flight.Airline airline = flight.getAirline();
+        if (airline == null) {
+            return null;
+        }
+        if (airline.getIata() != null) {
+            return airline.getIata();
+        }
+        return airline.getIcao() != null ? airline.getIcao() : airline.getName();
+    }
+
+    /**
+     * Flight number as published by the carrier, preferring the IATA form (e.g. "AA1004").
+     */
+    public static String flightNumber(Flight flight) {
+        Flight.FlightInfo info = flight.getFlightInfo();
+        if (info == null) {
+            return null;
+        }
+        return info.getIata() != null ? info.getIata() : info.getNumber();
+    }
+
+    /**
+     * 64-bit FNV-1a hash over every upstream field of the flight. Two flights with the same content hash are
+     * treated as unchanged; the locally computed predicted status is not part of the content.
+     */
+    public static long contentHash(Flight flight) {
+        long h = FNV_OFFSET;
+        h = mix(h, flight.getFlightDate());
+        h = mix(h, flight.getFlightStatus());
+
+        Flight.Departure departure = flight.getDeparture();
+        if (departure != null) {
+            h = mix(h, departure.getAirport());
+            h = mix(h, departure.getTimezone());
+            h = mix(h, departure.getIata());
+            h = mix(h, departure.getIcao());
+            h = mix(h, departure.getTerminal());
+            h = mix(h, departure.getGate());
+            h = mix(h, departure.getDelay());
+            h = mix(h, departure.getScheduled());
+            h = mix(h, departure.getEstimated());
+            h = mix(h, departure.getActual());
+            h = mix(h, departure.getEstimatedRunway());
+            h = mix(h, departure.getActualRunway());
+        }
+        h = mix(h, 0x1F);
+
+        Flight.Arrival arrival = flight.getArrival();
+        if (arrival != null) {
+            h = mix(h, arrival.getAirport());
+            h = mix(h, arrival.getTimezone());
+            h = mix(h, arrival.getIata());
+            h = mix(h, arrival.getIcao());
+            h = mix(h, arrival.getTerminal());
+            h = mix(h, arrival.getGate());
+            h = mix(h, arrival.getBaggage());
+            h = mix(h, arrival.getDelay());
+            h = mix(h, arrival.getScheduled());
+            h = mix(h, arrival.getEstimated());
+            h = mix(h, arrival.getActual());
+            h = mix(h, arrival.getEstimatedRunway());
+            h = mix(h, arrival.getActualRunway());
+        }
+        h = mix(h, 0x1F);
+
+        Flight.Airline airline = flight.getAirline();
+        if (airline != null) {
+            h = mix(h, airline.getName());
+            h = mix(h, airline.getIata());
+            h = mix(h, airline.getIcao());
+        }
+        h = mix(h, 0x1F);
+
+        Flight.FlightInfo info = flight.getFlightInfo();
+        if (info != null) {
+            h = mix(h, info.getNumber());
+            h = mix(h, info.getIata());
+            h = mix(h, info.getIcao());
+        }
+        h = mix(h, 0x1F);
+
+        Flight.Aircraft aircraft = flight.getAircraft();
+        if (aircraft != null) {
+            h = mix(h, aircraft.getRegistration());
+            h = mix(h, aircraft.getIata());
+            h = mix(h, aircraft.getIcao());
+            h = mix(h, aircraft.getIcao24());
+        }
+        h = mix(h, 0x1F);
+
+        Flight.Live live = flight.getLive();
+        if (live != null) {
+            h = mix(h, live.getUpdated());
+            h = mix(h, Double.doubleToLongBits(live.getLatitude()));
+            h = mix(h, Double.doubleToLongBits(live.getLongitude()));
+            h = mix(h, Double.doubleToLongBits(live.getAltitude()));
+            h = mix(h, Double.doubleToLongBits(live.getDirection()));
+            h = mix(h, Double.doubleToLongBits(live.getSpeedHorizontal()));
+            h = mix(h, Double.doubleToLongBits(live.getSpeedVertical()));
+            h = mix(h, live.isGround() ? 1 : 0);
+        }
+        return h;
+    }
+
+    private static long mix(long h, String value) {
+        if (value == null) {
+            return mix(h, 0xFF);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            h = (h ^ (c & 0xFF)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        // Field separator so that ("ab", "c") and ("a", "bc") hash differently
+        return mix(h, 0x1E);
+    }
+
+    private static long mix(long h, long value) {
+        for (int i = 0; i < 8; i++) {
+            h = (h ^ (value & 0xFF)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,42 @@
+package com.george.model;
+
+/**
+ * Flight statuses published by AviationStack.
+ */
+public enum FlightStatus {
+    SCHEDULED("scheduled"),
+    ACTIVE("active"),
+    LANDED("landed"),
+    CANCELLED("cancelled"),
+    INCIDENT("incident"),
+    DIVERTED("diverted");
+
+    private static final FlightStatus[] VALUES = values();
+
+    private final String value;
+
+    FlightStatus(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Wire value, e.g. {@code "scheduled"}.
+     */
+    public String value() {
+        return value;
+    }
+
+    /**
+     * @return The status with the exact wire value, or {@code null} if the value is not a known status.
+     */
+    public static FlightStatus fromValue(String value) {
+        if (value != null) {
+            for (FlightStatus status : VALUES) {
+                if (status.value.equals(value)) {
+                    return status;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.george.model;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Packs the feed's ISO-8601 timestamps ({@code 2019-12-12T04:20:00+00:00}) into a single {@code long}: the epoch
+ * second in the upper 56 bits and the UTC offset in quarter hours in the low byte. Dates are stored as epoch days.
+ *
+ * <p>A value is only packed if formatting it again yields the exact original text, so the text read back is
+ * unchanged. Anything else is reported as {@link #RAW} and kept as a string by the caller.</p>
+ */
+public final class FlightTimestamps {
+
+    /** No value. */
+    public static final long ABSENT = Long.MIN_VALUE;
+    /** A value that could not be packed losslessly. */
+    public static final long RAW = Long.MIN_VALUE + 1;
+
+    /** No date. */
+    public static final int ABSENT_DATE = Integer.MIN_VALUE;
+    /** A date that could not be packed losslessly. */
+    public static final int RAW_DATE = Integer.MIN_VALUE + 1;
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ssxxx");
+    private static final long MAX_EPOCH_SECOND = 1L << 40;
+    private static final int QUARTER_HOUR = 900;
+
+    private FlightTimestamps() {
+    }
+
+    public static long pack(String value) {
+        if (value == null) {
+            return ABSENT;
+        }
+        try {
+            OffsetDateTime time = OffsetDateTime.parse(value, FORMAT);
+            long epochSecond = time.toEpochSecond();
+            int offset = time.getOffset().getTotalSeconds();
+            if (Math.abs(epochSecond) >= MAX_EPOCH_SECOND || offset % QUARTER_HOUR != 0) {
+                return RAW;
+            }
+            long packed = (epochSecond << 8) | ((offset / QUARTER_HOUR) & 0xFF);
+            return value.equals(format(packed)) ? packed : RAW;
+        } catch (DateTimeException e) {
+            return RAW;
+        }
+    }
+
+    /**
+     * Formats a packed timestamp; {@link #ABSENT} and {@link #RAW} format as {@code null}.
+     */
+    public static String format(long packed) {
+        if (packed == ABSENT || packed == RAW) {
+            return null;
+        }
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds((byte) packed * QUARTER_HOUR);
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(packed >> 8), offset).format(FORMAT);
+    }
+
+    /**
+     * @return The epoch second of a packed timestamp, or {@link #ABSENT} if there is none.
+     */
+    public static long epochSecond(long packed) {
+        return packed == ABSENT || packed == RAW ? ABSENT : packed >> 8;
+    }
+
+    /**
+     * @return The hour of day (0-23) in the timestamp's own UTC offset, or {@code -1} if there is no timestamp.
+     */
+    public static int localHour(long packed) {
+        return packed == ABSENT || packed == RAW ? -1 : (int) (Math.floorMod(localSecond(packed), 86_400L) / 3_600);
+    }
+
+    /**
+     * @return The ISO day of week (1 = Monday) in the timestamp's own UTC offset, or {@code -1} if there is none.
+     */
+    public static int localDayOfWeek(long packed) {
+        if (packed == ABSENT || packed == RAW) {
+            return -1;
+        }
+        // Epoch day 0 (1970-01-01) was a Thursday
+        return (int) Math.floorMod(Math.floorDiv(localSecond(packed), 86_400L) + 3, 7L) + 1;
+    }
+
+    private static long localSecond(long packed) {
+        return (packed >> 8) + (long) (byte) packed * QUARTER_HOUR;
+    }
+
+    /**
+     * Parses a delay in whole minutes without allocating.
+     *
+     * @return The delay, or {@code -1} if the value is missing or not a number.
+     */
+    public static int minutes(String value) {
+        if (value == null || value.isEmpty() || value.length() > 6) {
+            return -1;
+        }
+        int minutes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            minutes = minutes * 10 + (c - '0');
+        }
+        return minutes;
+    }
+
+    public static int packDate(String value) {
+        if (value == null) {
+            return ABSENT_DATE;
+        }
+        try {
+            LocalDate date = LocalDate.parse(value);
+            long epochDay = date.toEpochDay();
+            if (Math.abs(epochDay) >= Integer.MAX_VALUE - 1 || !value.equals(date.toString())) {
+                return RAW_DATE;
+            }
+            return (int) epochDay;
+        } catch (DateTimeException e) {
+            return RAW_DATE;
+        }
+    }
+
+    public static String formatDate(int packed) {
+        return packed == ABSENT_DATE || packed == RAW_DATE ? null : LocalDate.ofEpochDay(packed).toString();
+    }
+}
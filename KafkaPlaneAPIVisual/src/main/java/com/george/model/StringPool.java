@@ -0,0 +1,42 @@
+package com.george.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary for the low-cardinality strings of the flight feed (IATA/ICAO codes, airport and airline
+ * names, timezones, terminals, gates). Every distinct value is kept once, so thousands of cached flights share the
+ * same {@code "America/New_York"} instead of each holding a copy.
+ *
+ * <p>The pool is bounded: once it holds {@link #MAX_ENTRIES} values, new values are returned as-is.</p>
+ */
+public final class StringPool {
+
+    static final int MAX_ENTRIES = 1 << 16;
+
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>(1024);
+
+    private StringPool() {
+    }
+
+    /**
+     * Returns the canonical instance of the value.
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = POOL.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (POOL.size() >= MAX_ENTRIES) {
+            return value;
+        }
+        canonical = POOL.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    public static int size() {
+        return POOL.size();
+    }
+}
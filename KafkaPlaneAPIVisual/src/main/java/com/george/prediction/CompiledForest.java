@@ -0,0 +1,204 @@
+package com.george.prediction;
+
+import smile.base.cart.DecisionNode;
+import smile.base.cart.InternalNode;
+import smile.base.cart.NominalNode;
+import smile.base.cart.Node;
+import smile.base.cart.OrdinalNode;
+import smile.classification.DecisionTree;
+import smile.classification.RandomForest;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * A trained {@link RandomForest} flattened into primitive arrays for fast scoring of {@link FeatureMatrix} rows.
+ *
+ * <p>Nodes of all trees are laid out depth first in shared arrays, so the true child of an internal node is always
+ * the next node and only the false child needs an offset. Leaves are marked by a negative feature index and carry
+ * their class index in {@link #output}. Scoring a row walks each tree with array reads and one comparison per
+ * level, and votes exactly as Smile does: the most voted class wins, ties go to the lowest class index.</p>
+ */
+public final class CompiledForest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int LEAF = -1;
+
+    private final int[] roots;
+    private final int[] feature;
+    private final double[] split;
+    private final boolean[] nominal;
+    private final int[] falseChild;
+    private final int[] output;
+    private final int[] labels;
+
+    private CompiledForest(int[] roots, int[] feature, double[] split, boolean[] nominal, int[] falseChild,
+                           int[] output, int[] labels) {
+        this.roots = roots;
+        this.feature = feature;
+        this.split = split;
+        this.nominal = nominal;
+        this.falseChild = falseChild;
+        this.output = output;
+        this.labels = labels;
+    }
+
+    /**
+     * Flattens every tree of the forest.
+     *
+     * @throws IllegalArgumentException If a tree contains a node type this evaluator does not support, or its split
+     *                                  values cannot be read from this Smile version.
+     */
+    public static CompiledForest compile(RandomForest forest) {
+        DecisionTree[] trees = forest.trees();
+        Builder builder = new Builder();
+        int[] roots = new int[trees.length];
+        for (int t = 0; t < trees.length; t++) {
+            roots[t] = builder.add(trees[t].root());
+        }
+        return builder.build(roots, forest.classes());
+    }
+
+    /**
+     * Scores every row of the matrix.
+     */
+    public int[] predict(FeatureMatrix matrix) {
+        int[] predictions = new int[matrix.rows()];
+        int[] votes = new int[labels.length];
+        for (int i = 0; i < predictions.length; i++) {
+            predictions[i] = predict(matrix.row(i), votes);
+        }
+        return predictions;
+    }
+
+    /**
+     * Scores one row without allocating.
+     *
+     * @param votes Scratch space of at least {@link #classCount()} entries; overwritten.
+     * @return The predicted class label.
+     */
+    public int predict(double[] row, int[] votes) {
+        Arrays.fill(votes, 0, labels.length, 0);
+        for (int root : roots) {
+            int node = root;
+            int f;
+            while ((f = feature[node]) != LEAF) {
+                double x = row[f];
+                boolean goesTrue = nominal[node] ? x == split[node] : x <= split[node];
+                node = goesTrue ? node + 1 : falseChild[node];
+            }
+            votes[output[node]]++;
+        }
+        int best = 0;
+        for (int c = 1; c < labels.length; c++) {
+            if (votes[c] > votes[best]) {
+                best = c;
+            }
+        }
+        return labels[best];
+    }
+
+    public int classCount() {
+        return labels.length;
+    }
+
+    public int treeCount() {
+        return roots.length;
+    }
+
+    public int nodeCount() {
+        return feature.length;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledForest{trees=" + roots.length + ", nodes=" + feature.length + ", classes=" + labels.length + "}";
+    }
+
+    /**
+     * Reads split values through Smile internals. As of Smile 3.1.1, {@link OrdinalNode} ({@code x <= value}) and
+     * {@link NominalNode} ({@code x == value}) keep them in package-private fields named {@code value}, with no
+     * accessor. The fields are looked up once. If another Smile version renames, retypes or hides them, every read
+     * throws, {@link #compile(RandomForest)} fails and the model keeps scoring with Smile's own {@code predict}.
+     * Recheck this class when upgrading Smile.
+     */
+    private static final class SplitValues {
+
+        static final Field ORDINAL = field(OrdinalNode.class);
+        static final Field NOMINAL = field(NominalNode.class);
+
+        private static Field field(Class<?> type) {
+            try {
+                Field field = type.getDeclaredField("value");
+                field.setAccessible(true);
+                return field;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        static double read(Field field, InternalNode node) {
+            if (field == null) {
+                throw new IllegalArgumentException("Split value of " + node.getClass().getName() + " is not accessible");
+            }
+            try {
+                return ((Number) field.get(node)).doubleValue();
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new IllegalArgumentException("Cannot read split value of " + node.getClass().getName(), e);
+            }
+        }
+    }
+
+    private static final class Builder {
+
+        private int size;
+        private int[] feature = new int[1024];
+        private double[] split = new double[1024];
+        private boolean[] nominal = new boolean[1024];
+        private int[] falseChild = new int[1024];
+        private int[] output = new int[1024];
+
+        int add(Node node) {
+            int index = size++;
+            ensureCapacity(size);
+            if (node instanceof DecisionNode leaf) {
+                feature[index] = LEAF;
+                output[index] = leaf.output();
+            } else if (node instanceof InternalNode internal) {
+                feature[index] = internal.feature();
+                if (internal instanceof OrdinalNode ordinal) {
+                    split[index] = SplitValues.read(SplitValues.ORDINAL, ordinal);
+                } else if (internal instanceof NominalNode categorical) {
+                    split[index] = SplitValues.read(SplitValues.NOMINAL, categorical);
+                    nominal[index] = true;
+                } else {
+                    throw new IllegalArgumentException("Unsupported split node " + node.getClass().getName());
+                }
+                add(internal.trueChild());
+                falseChild[index] = add(internal.falseChild());
+            } else {
+                throw new IllegalArgumentException("Unsupported tree node " + node.getClass().getName());
+            }
+            return index;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > feature.length) {
+                int grown = Math.max(capacity, feature.length * 2);
+                feature = Arrays.copyOf(feature, grown);
+                split = Arrays.copyOf(split, grown);
+                nominal = Arrays.copyOf(nominal, grown);
+                falseChild = Arrays.copyOf(falseChild, grown);
+                output = Arrays.copyOf(output, grown);
+            }
+        }
+
+        CompiledForest build(int[] roots, int[] labels) {
+            return new CompiledForest(roots, Arrays.copyOf(feature, size), Arrays.copyOf(split, size),
+                Arrays.copyOf(nominal, size), Arrays.copyOf(falseChild, size), Arrays.copyOf(output, size),
+                labels.clone());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.george.prediction;
+
+import smile.data.DataFrame;
+import smile.data.vector.IntVector;
+
+/**
+ * Feature values of a batch of flights, one primitive row per flight.
+ */
+public final class FeatureMatrix {
+
+    private final String[] names;
+    private final double[][] rows;
+
+    FeatureMatrix(String[] names, double[][] rows) {
+        this.names = names;
+        this.rows = rows;
+    }
+
+    public static FeatureMatrix of(String[] names, double[][] rows) {
+        return new FeatureMatrix(names.clone(), rows);
+    }
+
+    public int rows() {
+        return rows.length;
+    }
+
+    public double[] row(int i) {
+        return rows[i];
+    }
+
+    /**
+     * @return The matrix restricted to its first {@code count} rows.
+     */
+    public FeatureMatrix head(int count) {
+        if (count == rows.length) {
+            return this;
+        }
+        double[][] head = new double[count][];
+        System.arraycopy(rows, 0, head, 0, count);
+        return new FeatureMatrix(names, head);
+    }
+
+    /**
+     * @return The matrix made of the first {@code count} row indices in {@code rowIndices}.
+     */
+    public FeatureMatrix select(int[] rowIndices, int count) {
+        double[][] selected = new double[count][];
+        for (int i = 0; i < count; i++) {
+            selected[i] = rows[rowIndices[i]];
+        }
+        return new FeatureMatrix(names, selected);
+    }
+
+    public DataFrame toDataFrame() {
+        return DataFrame.of(rows, names);
+    }
+
+    /**
+     * @return The features with the class labels appended as an integer column, for training.
+     */
+    public DataFrame toDataFrame(String labelName, int[] labels) {
+        return toDataFrame().merge(IntVector.of(labelName, labels));
+    }
+}
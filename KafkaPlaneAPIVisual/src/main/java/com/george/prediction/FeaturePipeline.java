@@ -0,0 +1,71 @@
+package com.george.prediction;
+
+import com.george.model.Flight;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered list of {@link FlightFeature}s that turns flights into the model's feature matrix. The pipeline a model
+ * was trained with is stored in its {@link StatusModel}, so training and inference share one encoding.
+ */
+public final class FeaturePipeline implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<FlightFeature> features;
+    private final String[] names;
+
+    public FeaturePipeline(List<FlightFeature> features) {
+        if (features.isEmpty()) {
+            throw new IllegalArgumentException("At least one feature is required");
+        }
+        this.features = List.copyOf(features);
+        this.names = features.stream().map(FlightFeature::name).toArray(String[]::new);
+    }
+
+    /**
+     * @return A pipeline whose features are fitted to the training flights.
+     */
+    public FeaturePipeline fit(List<Flight> flights) {
+        List<FlightFeature> fitted = new ArrayList<>(features.size());
+        for (FlightFeature feature : features) {
+            fitted.add(feature.fit(flights));
+        }
+        return new FeaturePipeline(fitted);
+    }
+
+    /**
+     * Extracts every feature of every flight in one pass.
+     */
+    public FeatureMatrix transform(List<Flight> flights) {
+        double[][] rows = new double[flights.size()][names.length];
+        for (int i = 0; i < rows.length; i++) {
+            extract(flights.get(i), rows[i]);
+        }
+        return new FeatureMatrix(names, rows);
+    }
+
+    /**
+     * Extracts every feature of the flight into {@code row}.
+     */
+    public void extract(Flight flight, double[] row) {
+        for (int j = 0; j < names.length; j++) {
+            row[j] = features.get(j).extract(flight);
+        }
+    }
+
+    public String[] names() {
+        return names.clone();
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public String toString() {
+        return "FeaturePipeline" + features;
+    }
+}
@@ -0,0 +1,29 @@
+package com.george.prediction;
+
+import com.george.model.Flight;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One numeric input of the status model, derived from fields already on {@link Flight}.
+ *
+ * <p>Features that need statistics from the training data (such as category codes) return a fitted copy from
+ * {@link #fit(List)}; the fitted copy is stored with the model so inference encodes exactly like training did.
+ * Missing values are encoded as {@link #MISSING}.</p>
+ */
+public interface FlightFeature extends Serializable {
+
+    double MISSING = -1;
+
+    String name();
+
+    double extract(Flight flight);
+
+    /**
+     * @return A copy of this feature fitted to the training flights, or this feature if it needs no fitting.
+     */
+    default FlightFeature fit(List<Flight> flights) {
+        return this;
+    }
+}
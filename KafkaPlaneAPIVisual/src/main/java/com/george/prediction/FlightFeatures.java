@@ -0,0 +1,246 @@
+package com.george.prediction;
+
+import com.george.model.Flight;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The available {@link FlightFeature}s, by name. {@code prediction.features} selects which of them the status
+ * model is trained on.
+ *
+ * <p>Every feature reads its value through a {@link Field} constant. Persisted models serialize features as the
+ * constant's name plus any fitted codes, so loading a model resolves each feature against this enum and fails on a
+ * name it no longer defines; constants must therefore never be renamed, only added or retired.</p>
+ */
+public final class FlightFeatures {
+
+    private static final Map<String, Field> FIELDS = new LinkedHashMap<>();
+
+    static {
+        for (Field field : Field.values()) {
+            FIELDS.put(field.featureName, field);
+        }
+    }
+
+    private FlightFeatures() {
+    }
+
+    /**
+     * @return The names of every available feature, in declaration order.
+     */
+    public static List<String> names() {
+        return List.copyOf(FIELDS.keySet());
+    }
+
+    /**
+     * @throws IllegalArgumentException If a name does not match a feature.
+     */
+    public static List<FlightFeature> byName(List<String> names) {
+        List<FlightFeature> features = new ArrayList<>(names.size());
+        for (String name : names) {
+            Field field = FIELDS.get(name.trim());
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown feature '" + name + "', expected one of " + FIELDS.keySet());
+            }
+            features.add(field.categorical ? new CategoricalFeature(field) : new NumericFeature(field));
+        }
+        return features;
+    }
+
+    /**
+     * Named extractors behind the features. Categorical fields override {@link #category(Flight)}, numeric fields
+     * override {@link #measure(Flight)}.
+     */
+    enum Field {
+        AIRLINE("airline", true) {
+            @Override
+            Object category(Flight f) {
+                return f.getAirline() != null ? f.getAirline().getIata() : null;
+            }
+        },
+        DEPARTURE("departure", true) {
+            @Override
+            Object category(Flight f) {
+                return f.getDeparture() != null ? f.getDeparture().getIata() : null;
+            }
+        },
+        ARRIVAL("arrival", true) {
+            @Override
+            Object category(Flight f) {
+                return f.getArrival() != null ? f.getArrival().getIata() : null;
+            }
+        },
+        ROUTE("route", true) {
+            @Override
+            Object category(Flight f) {
+                return f.getDeparture() != null && f.getArrival() != null
+                    && f.getDeparture().getIata() != null && f.getArrival().getIata() != null
+                    ? new Route(f.getDeparture().getIata(), f.getArrival().getIata()) : null;
+            }
+        },
+        DEPARTURE_TERMINAL("departure_terminal", true) {
+            @Override
+            Object category(Flight f) {
+                return f.getDeparture() != null ? f.getDeparture().getTerminal() : null;
+            }
+        },
+        SCHEDULED_HOUR("scheduled_hour", false) {
+            @Override
+            double measure(Flight f) {
+                return f.getDeparture() != null ? f.getDeparture().getScheduledLocalHour() : FlightFeature.MISSING;
+            }
+        },
+        SCHEDULED_DAY_OF_WEEK("scheduled_day_of_week", false) {
+            @Override
+            double measure(Flight f) {
+                return f.getDeparture() != null ? f.getDeparture().getScheduledLocalDayOfWeek() : FlightFeature.MISSING;
+            }
+        },
+        DEPARTURE_DELAY("departure_delay", false) {
+            @Override
+            double measure(Flight f) {
+                return f.getDeparture() != null ? f.getDeparture().getDelayMinutes() : FlightFeature.MISSING;
+            }
+        },
+        ARRIVAL_DELAY("arrival_delay", false) {
+            @Override
+            double measure(Flight f) {
+                return f.getArrival() != null ? f.getArrival().getDelayMinutes() : FlightFeature.MISSING;
+            }
+        },
+        LIVE_ALTITUDE("live_altitude", false) {
+            @Override
+            double measure(Flight f) {
+                return f.getLive() != null ? f.getLive().getAltitude() : FlightFeature.MISSING;
+            }
+        },
+        LIVE_SPEED("live_speed", false) {
+            @Override
+            double measure(Flight f) {
+                return f.getLive() != null ? f.getLive().getSpeedHorizontal() : FlightFeature.MISSING;
+            }
+        },
+        LIVE_IS_GROUND("live_is_ground", false) {
+            @Override
+            double measure(Flight f) {
+                return f.getLive() != null ? (f.getLive().isGround() ? 1 : 0) : FlightFeature.MISSING;
+            }
+        };
+
+        private final String featureName;
+        private final boolean categorical;
+
+        Field(String featureName, boolean categorical) {
+            this.featureName = featureName;
+            this.categorical = categorical;
+        }
+
+        Object category(Flight flight) {
+            throw new UnsupportedOperationException(featureName + " is not categorical");
+        }
+
+        double measure(Flight flight) {
+            throw new UnsupportedOperationException(featureName + " is not numeric");
+        }
+    }
+
+    /**
+     * Departure and arrival airport pair, used as a single category.
+     */
+    record Route(String from, String to) implements Serializable {
+    }
+
+    /**
+     * A numeric field, used as-is.
+     */
+    static final class NumericFeature implements FlightFeature {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Field field;
+
+        NumericFeature(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public String name() {
+            return field.featureName;
+        }
+
+        @Override
+        public double extract(Flight flight) {
+            return field.measure(flight);
+        }
+    }
+
+    /**
+     * A categorical field. Fitting ranks the categories by training frequency, so the most common category gets
+     * code 0 and threshold splits separate the frequent categories from the long tail. Categories beyond
+     * {@link #MAX_LEVELS}, and categories never seen in training, share the code after the last ranked category.
+     */
+    static final class CategoricalFeature implements FlightFeature {
+
+        private static final long serialVersionUID = 1L;
+
+        static final int MAX_LEVELS = 256;
+
+        private final Field field;
+        private final Map<Object, Integer> codes;
+
+        CategoricalFeature(Field field) {
+            this(field, Collections.emptyMap());
+        }
+
+        private CategoricalFeature(Field field, Map<Object, Integer> codes) {
+            this.field = field;
+            this.codes = codes;
+        }
+
+        @Override
+        public String name() {
+            return field.featureName;
+        }
+
+        @Override
+        public double extract(Flight flight) {
+            Object value = field.category(flight);
+            if (value == null) {
+                return MISSING;
+            }
+            Integer code = codes.get(value);
+            return code != null ? code : codes.size();
+        }
+
+        @Override
+        public FlightFeature fit(List<Flight> flights) {
+            Map<Object, int[]> counts = new LinkedHashMap<>();
+            for (Flight flight : flights) {
+                Object value = field.category(flight);
+                if (value != null) {
+                    counts.computeIfAbsent(value, v -> new int[1])[0]++;
+                }
+            }
+            List<Map.Entry<Object, int[]>> ranked = new ArrayList<>(counts.entrySet());
+            ranked.sort(Comparator.comparingInt((Map.Entry<Object, int[]> e) -> e.getValue()[0]).reversed());
+
+            Map<Object, Integer> fitted = new LinkedHashMap<>();
+            for (Map.Entry<Object, int[]> entry : ranked.subList(0, Math.min(MAX_LEVELS, ranked.size()))) {
+                fitted.put(entry.getKey(), fitted.size());
+            }
+            return new CategoricalFeature(field, fitted);
+        }
+
+        @Override
+        public String toString() {
+            return name() + Arrays.toString(codes.keySet().stream().limit(5).toArray()) + (codes.size() > 5 ? "..." : "");
+        }
+    }
+}
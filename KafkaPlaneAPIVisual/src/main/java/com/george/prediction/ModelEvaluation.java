@@ -0,0 +1,17 @@
+package com.george.prediction;
+
+import java.util.Map;
+
+/**
+ * Quality and cost of a status model on a set of labelled flights.
+ *
+ * @param recall                Share of the flights of each status that were predicted correctly.
+ * @param latencyMicrosPerRow   Mean inference time per flight, including feature extraction.
+ */
+public record ModelEvaluation(
+        long modelVersion,
+        int rows,
+        double accuracy,
+        Map<String, Double> recall,
+        double latencyMicrosPerRow) {
+}
@@ -0,0 +1,67 @@
+package com.george.prediction;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running confusion counts and inference time of one model. Not thread-safe.
+ */
+public final class ModelScore {
+
+    private final long modelVersion;
+    private final String[] classes;
+    private final long[] seen;
+    private final long[] hits;
+    private long rows;
+    private long correct;
+    private long nanos;
+
+    /**
+     * @param classes Class names by label index.
+     */
+    public ModelScore(long modelVersion, String[] classes) {
+        this.modelVersion = modelVersion;
+        this.classes = classes;
+        this.seen = new long[classes.length];
+        this.hits = new long[classes.length];
+    }
+
+    /**
+     * Adds a scored batch.
+     *
+     * @param elapsedNanos Time taken to encode and predict the batch.
+     */
+    public void add(int[] predicted, int[] actual, long elapsedNanos) {
+        for (int i = 0; i < actual.length; i++) {
+            seen[actual[i]]++;
+            if (predicted[i] == actual[i]) {
+                hits[actual[i]]++;
+                correct++;
+            }
+        }
+        rows += actual.length;
+        nanos += elapsedNanos;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public double accuracy() {
+        return rows == 0 ? 0 : (double) correct / rows;
+    }
+
+    public double latencyMicrosPerRow() {
+        return rows == 0 ? 0 : nanos / 1_000.0 / rows;
+    }
+
+    public ModelEvaluation toEvaluation() {
+        Map<String, Double> recall = new LinkedHashMap<>();
+        for (int c = 0; c < classes.length; c++) {
+            if (seen[c] > 0) {
+                recall.put(classes[c], (double) hits[c] / seen[c]);
+            }
+        }
+        return new ModelEvaluation(modelVersion, (int) rows, accuracy(), recall, latencyMicrosPerRow());
+    }
+}
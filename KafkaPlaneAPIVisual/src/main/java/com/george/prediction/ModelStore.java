@@ -0,0 +1,165 @@
+package com.george.prediction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persists trained {@link StatusModel} snapshots as versioned artifacts on disk so a restarted instance can serve
+ * predictions from the last good model immediately instead of waiting for a fresh fetch and training run.
+ *
+ * <p>Each artifact is written to a temporary file and atomically moved into place, after which the {@code LATEST}
+ * pointer is updated. Only the newest {@code prediction.model.store.retain} artifacts are kept.</p>
+ *
+ * <p>Artifacts are deserialized through an allow-list filter: only this package, Smile's model classes and the
+ * few JDK types they hold may be instantiated, so a foreign file in the directory is skipped instead of loaded.</p>
+ */
+@Component
+public class ModelStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelStore.class);
+
+    private static final int MAGIC = 0x464C5452; // "FLTR"
+    static final int FORMAT_VERSION = 2;
+    private static final String PREFIX = "status-model-v";
+    private static final String SUFFIX = ".bin";
+    private static final String LATEST = "LATEST";
+
+    private static final ObjectInputFilter ARTIFACT_FILTER = ObjectInputFilter.Config.createFilter(String.join(";",
+        "com.george.prediction.*",
+        "smile.**",
+        "java.lang.Object", "java.lang.Enum", "java.lang.Number", "java.lang.Integer", "java.lang.Long",
+        "java.lang.Double", "java.lang.Boolean", "java.lang.String",
+        "java.time.Instant", "java.time.Ser",
+        "java.util.ArrayList", "java.util.HashMap", "java.util.LinkedHashMap", "java.util.Map$Entry",
+        "java.util.CollSer", "java.util.ImmutableCollections$*",
+        "!*"));
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int retain;
+
+    public ModelStore(
+            @Value("${prediction.model.store.enabled:true}") boolean enabled,
+            @Value("${prediction.model.store.directory:./model-store}") String directory,
+            @Value("${prediction.model.store.retain:3}") int retain) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.retain = Math.max(1, retain);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes the model as a new artifact and points {@code LATEST} at it. Failures are logged, never thrown,
+     * since a missing artifact only costs a slower next startup.
+     */
+    public void save(StatusModel model) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            String fileName = String.format("%s%08d%s", PREFIX, model.getVersion(), SUFFIX);
+            Path target = directory.resolve(fileName);
+            Path temp = Files.createTempFile(directory, fileName, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                ObjectOutputStream objects = new ObjectOutputStream(out);
+                objects.writeObject(model);
+                objects.flush();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            Path latestTemp = Files.createTempFile(directory, LATEST, ".tmp");
+            Files.writeString(latestTemp, fileName, StandardCharsets.UTF_8);
+            Files.move(latestTemp, directory.resolve(LATEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Saved {} to {}", model, target);
+
+            prune();
+        } catch (IOException e) {
+            logger.error("Failed to save model artifact for {}: {}", model, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads the artifact referenced by {@code LATEST}, falling back to older artifacts if it is missing or corrupt.
+     */
+    public Optional<StatusModel> loadLatest() {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        List<Path> candidates = new ArrayList<>();
+        try {
+            Path latest = directory.resolve(LATEST);
+            if (Files.exists(latest)) {
+                candidates.add(directory.resolve(Files.readString(latest, StandardCharsets.UTF_8).trim()));
+            }
+            candidates.addAll(listArtifacts());
+        } catch (IOException e) {
+            logger.warn("Failed to list model artifacts in {}: {}", directory, e.getMessage());
+        }
+
+        for (Path candidate : candidates.stream().distinct().collect(Collectors.toList())) {
+            try {
+                StatusModel model = read(candidate);
+                logger.info("Loaded {} from {}", model, candidate);
+                return Optional.of(model);
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                logger.warn("Skipping unreadable model artifact {}: {}", candidate, e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private StatusModel read(Path artifact) throws IOException, ClassNotFoundException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(artifact)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a status model artifact");
+            }
+            int formatVersion = in.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported artifact format version " + formatVersion);
+            }
+            ObjectInputStream objects = new ObjectInputStream(in);
+            objects.setObjectInputFilter(ARTIFACT_FILTER);
+            return (StatusModel) objects.readObject();
+        }
+    }
+
+    /**
+     * Lists artifacts newest first.
+     */
+    private List<Path> listArtifacts() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                })
+                .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                .collect(Collectors.toList());
+        }
+    }
+
+    private void prune() throws IOException {
+        List<Path> artifacts = listArtifacts();
+        for (Path stale : artifacts.subList(Math.min(retain, artifacts.size()), artifacts.size())) {
+            Files.deleteIfExists(stale);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.george.prediction;
+
+import com.george.model.Flight;
+import com.george.model.FlightKeys;
+import com.george.service.FlightPredictionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Retrains the status model from the {@link TrainingWindow}, either on a fixed schedule or as soon as enough new
+ * flights have been consumed since the last training run. Training itself runs on the prediction service's
+ * training executor, so callers such as the Kafka listener only pay for a counter check.
+ */
+@Component
+public class ModelTrainingScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelTrainingScheduler.class);
+
+    private final TrainingWindow trainingWindow;
+    private final FlightPredictionService predictionService;
+    private final long retrainThreshold;
+    private final int minTrainingRows;
+
+    private final AtomicBoolean training = new AtomicBoolean();
+    private volatile long trainedUpTo;
+
+    public ModelTrainingScheduler(
+            TrainingWindow trainingWindow,
+            FlightPredictionService predictionService,
+            @Value("${prediction.training.retrain-threshold:500}") long retrainThreshold,
+            @Value("${prediction.training.min-rows:20}") int minTrainingRows) {
+        this.trainingWindow = trainingWindow;
+        this.predictionService = predictionService;
+        this.retrainThreshold = retrainThreshold;
+        this.minTrainingRows = minTrainingRows;
+    }
+
+    /**
+     * Called after new flights were added to the window; retrains once the threshold of new flights is crossed.
+     */
+    public void onFlightsAdded() {
+        if (trainingWindow.getTotalAdded() - trainedUpTo >= retrainThreshold) {
+            retrain("threshold");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${prediction.training.interval:PT5M}",
+               fixedDelayString = "${prediction.training.interval:PT5M}")
+    public void retrainOnSchedule() {
+        if (trainingWindow.getTotalAdded() > trainedUpTo) {
+            retrain("schedule");
+        }
+    }
+
+    /**
+     * Starts a retrain on the latest state of every flight in the window unless one is already running.
+     */
+    public void retrain(String trigger) {
+        if (trainingWindow.size() < minTrainingRows) {
+            logger.debug("Skipping {} retrain: only {} flights in the training window", trigger, trainingWindow.size());
+            return;
+        }
+        if (!training.compareAndSet(false, true)) {
+            logger.debug("Skipping {} retrain: a training run is already in progress", trigger);
+            return;
+        }
+        long upTo = trainingWindow.getTotalAdded();
+        List<Flight> flights = FlightKeys.distinct(trainingWindow.snapshot());
+        logger.info("Retraining status model on {} flights (trigger: {})", flights.size(), trigger);
+        predictionService.retrainAsync(flights)
+            .whenComplete((model, error) -> {
+                if (error != null) {
+                    logger.error("Retraining failed: {}", error.getMessage(), error);
+                } else {
+                    trainedUpTo = upTo;
+                }
+                training.set(false);
+            });
+    }
+}
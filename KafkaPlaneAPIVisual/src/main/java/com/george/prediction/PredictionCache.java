@@ -0,0 +1,82 @@
+package com.george.prediction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, lock-free cache of predicted class labels keyed by feature row.
+ *
+ * <p>The cache is direct-mapped: each row hashes to one slot, and a colliding row simply overwrites it. Entries are
+ * tagged with the version of the model that produced them, so publishing a new model invalidates every entry
+ * without touching the table.</p>
+ */
+@Component
+public class PredictionCache {
+
+    private static final int MISS = Integer.MIN_VALUE;
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PredictionCache(@Value("${prediction.cache.size:8192}") int size) {
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return The cached label of the row under the given model version, or {@link Integer#MIN_VALUE} if absent.
+     */
+    public int get(long modelVersion, double[] row) {
+        Entry entry = slots.get(slot(row));
+        if (entry != null && entry.modelVersion == modelVersion && Arrays.equals(entry.row, row)) {
+            hits.increment();
+            return entry.label;
+        }
+        misses.increment();
+        return MISS;
+    }
+
+    public static boolean isMiss(int label) {
+        return label == MISS;
+    }
+
+    public void put(long modelVersion, double[] row, int label) {
+        slots.set(slot(row), new Entry(modelVersion, row.clone(), label));
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("capacity", capacity());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return stats;
+    }
+
+    private int slot(double[] row) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (double value : row) {
+            h = (h ^ Double.doubleToLongBits(value)) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private record Entry(long modelVersion, double[] row, int label) {
+    }
+}
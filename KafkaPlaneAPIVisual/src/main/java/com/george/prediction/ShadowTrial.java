@@ -0,0 +1,46 @@
+package com.george.prediction;
+
+/**
+ * A candidate model scored side by side with the live model on the same incoming flights, before it is allowed to
+ * replace it.
+ */
+public final class ShadowTrial {
+
+    private final StatusModel candidate;
+    private final StatusModel live;
+    private final ModelScore candidateScore;
+    private final ModelScore liveScore;
+
+    public ShadowTrial(StatusModel candidate, StatusModel live, String[] classes) {
+        this.candidate = candidate;
+        this.live = live;
+        this.candidateScore = new ModelScore(candidate.getVersion(), classes);
+        this.liveScore = new ModelScore(live.getVersion(), classes);
+    }
+
+    public StatusModel getCandidate() {
+        return candidate;
+    }
+
+    public StatusModel getLive() {
+        return live;
+    }
+
+    public synchronized void record(int[] actual, int[] candidatePredicted, long candidateNanos,
+                                    int[] livePredicted, long liveNanos) {
+        candidateScore.add(candidatePredicted, actual, candidateNanos);
+        liveScore.add(livePredicted, actual, liveNanos);
+    }
+
+    public synchronized long samples() {
+        return candidateScore.rows();
+    }
+
+    public synchronized ModelEvaluation candidateEvaluation() {
+        return candidateScore.toEvaluation();
+    }
+
+    public synchronized ModelEvaluation liveEvaluation() {
+        return liveScore.toEvaluation();
+    }
+}
@@ -0,0 +1,67 @@
+package com.george.prediction;
+
+import com.george.model.Flight;
+import smile.classification.RandomForest;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a trained status model: the forest together with the fitted feature pipeline it was trained
+ * with. A snapshot is fully built before it is published, so readers always see a forest and features that belong
+ * together. Snapshots are serializable so they can be persisted by {@link ModelStore}.
+ *
+ * <p>Predictions use the {@link CompiledForest} when one was verified at training time, and Smile otherwise.</p>
+ */
+public final class StatusModel implements Serializable {
+
+    private static final long serialVersionUID = 2L;
+
+    private final long version;
+    private final Instant trainedAt;
+    private final int trainingRows;
+    private final RandomForest forest;
+    private final CompiledForest compiled;
+    private final FeaturePipeline features;
+
+    /**
+     * @param compiled The flattened forest, or {@code null} to score with Smile.
+     */
+    public StatusModel(long version, Instant trainedAt, int trainingRows, RandomForest forest, CompiledForest compiled,
+                       FeaturePipeline features) {
+        this.version = version;
+        this.trainedAt = trainedAt;
+        this.trainingRows = trainingRows;
+        this.forest = forest;
+        this.compiled = compiled;
+        this.features = features;
+    }
+
+    /**
+     * Extracts the model's features for a batch of flights.
+     */
+    public FeatureMatrix encode(List<Flight> flights) {
+        return features.transform(flights);
+    }
+
+    /**
+     * Scores every row of the feature matrix.
+     */
+    public int[] predict(FeatureMatrix matrix) {
+        return compiled != null ? compiled.predict(matrix) : forest.predict(matrix.toDataFrame());
+    }
+
+    public long getVersion() { return version; }
+    public Instant getTrainedAt() { return trainedAt; }
+    public int getTrainingRows() { return trainingRows; }
+    public RandomForest getForest() { return forest; }
+    public CompiledForest getCompiled() { return compiled; }
+    public FeaturePipeline getFeatures() { return features; }
+
+    @Override
+    public String toString() {
+        return "StatusModel{version=" + version + ", trainedAt=" + trainedAt + ", trainingRows=" + trainingRows
+            + ", features=" + features.size() + ", compiled=" + (compiled != null) + "}";
+    }
+}
@@ -0,0 +1,20 @@
+package com.george.prediction;
+
+import java.time.Instant;
+
+/**
+ * Cost of one status model training run.
+ *
+ * @param wallTimeMillis Time spent fitting the forest, excluding feature extraction.
+ * @param rowsPerSecond  Training rows divided by the fit wall time.
+ */
+public record TrainingStats(
+        long modelVersion,
+        int rows,
+        int features,
+        int trees,
+        int parallelism,
+        long wallTimeMillis,
+        double rowsPerSecond,
+        Instant completedAt) {
+}
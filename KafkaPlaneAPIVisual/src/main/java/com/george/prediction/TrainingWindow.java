@@ -0,0 +1,73 @@
+package com.george.prediction;
+
+import com.george.model.Flight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bounded sliding window of the most recently consumed flights used as the training set for the status model.
+ * Once the window is full, the oldest flights are overwritten.
+ */
+@Component
+public class TrainingWindow {
+
+    private final Flight[] buffer;
+    private int head;
+    private int size;
+    private long totalAdded;
+
+    public TrainingWindow(@Value("${prediction.training.window-size:5000}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("prediction.training.window-size must be positive: " + capacity);
+        }
+        this.buffer = new Flight[capacity];
+    }
+
+    /**
+     * Appends flights to the window, evicting the oldest ones once the capacity is reached.
+     */
+    public synchronized void addAll(Collection<Flight> flights) {
+        for (Flight flight : flights) {
+            if (flight == null) {
+                continue;
+            }
+            buffer[head] = flight;
+            head = (head + 1) % buffer.length;
+            if (size < buffer.length) {
+                size++;
+            }
+            totalAdded++;
+        }
+    }
+
+    /**
+     * Returns the flights currently in the window, oldest first.
+     */
+    public synchronized List<Flight> snapshot() {
+        List<Flight> flights = new ArrayList<>(size);
+        int start = (head - size + buffer.length) % buffer.length;
+        for (int i = 0; i < size; i++) {
+            flights.add(buffer[(start + i) % buffer.length]);
+        }
+        return flights;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Total number of flights ever added, including those already evicted from the window.
+     */
+    public synchronized long getTotalAdded() {
+        return totalAdded;
+    }
+}
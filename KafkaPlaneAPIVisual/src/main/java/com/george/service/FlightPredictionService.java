@@ -1,47 +1,107 @@
 package com.george.service;
 
+import com.george.config.EvaluationConfig;
+import com.george.config.ForestConfig;
 import com.george.model.Flight;
+import com.george.prediction.CompiledForest;
+import com.george.prediction.FeatureMatrix;
+import com.george.prediction.FeaturePipeline;
+import com.george.prediction.FlightFeatures;
+import com.george.prediction.ModelEvaluation;
+import com.george.prediction.ModelScore;
+import com.george.prediction.ModelStore;
+import com.george.prediction.PredictionCache;
+import com.george.prediction.ShadowTrial;
+import com.george.prediction.StatusModel;
+import com.george.prediction.TrainingStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import smile.classification.RandomForest;
 import smile.data.DataFrame;
-import smile.data.Tuple;
+import smile.base.cart.SplitRule;
 import smile.data.formula.Formula;
-import smile.data.type.DataTypes;
-import smile.data.type.StructField;
-import smile.data.type.StructType;
 
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.stream.LongStream;
 
 @Service
 public class FlightPredictionService {
 
     private static final Logger logger = LoggerFactory.getLogger(FlightPredictionService.class);
 
-    private RandomForest statusPredictor;
-    private final StructType flightSchema;
-    private Map<String, Integer> statusToIndex;
-    private Map<Integer, String> indexToStatus;
-    private Map<String, Integer> airlineToIndex;
-    private Map<String, Integer> departureToIndex;
-    private Map<String, Integer> arrivalToIndex;
-
-    public FlightPredictionService() {
-        this.flightSchema = new StructType(
-            new StructField("airline_iata", DataTypes.IntegerType),
-            new StructField("departure_iata", DataTypes.IntegerType),
-            new StructField("arrival_iata", DataTypes.IntegerType),
-            new StructField("flight_status", DataTypes.IntegerType)
-        );
+    private static final String LABEL = "flight_status";
+
+    private final FeaturePipeline featurePipeline;
+    private final Map<String, Integer> statusToIndex;
+    private final Map<Integer, String> indexToStatus;
+    private final String[] statusClasses;
+
+    // Current model snapshot; swapped atomically so readers never block or see a half-built encoding
+    private final AtomicReference<StatusModel> currentModel = new AtomicReference<>();
+    private final AtomicLong modelVersions = new AtomicLong();
+    private final AtomicReference<TrainingStats> lastTraining = new AtomicReference<>();
+    // Runs one training job at a time, off the caller's thread
+    private final ExecutorService trainingExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "status-model-trainer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Scores shadow trials off the Kafka listener thread; batches are dropped rather than queued without bound
+    private final ThreadPoolExecutor shadowExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "status-model-shadow");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    private final AtomicReference<ShadowTrial> shadowTrial = new AtomicReference<>();
+    private final AtomicLong promotions = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private volatile Map<String, Object> lastHoldout = Map.of();
+    private volatile Map<String, Object> lastDecision = Map.of();
+    // Fits the trees of a forest in parallel; Smile's parallel streams run in the pool they are started from
+    private final ForkJoinPool forestPool;
+
+    private final ModelStore modelStore;
+    private final ForestConfig forestConfig;
+    private final EvaluationConfig evaluationConfig;
+    private final PredictionCache predictionCache;
+
+    public FlightPredictionService(ModelStore modelStore, ForestConfig forestConfig, EvaluationConfig evaluationConfig,
+                                   PredictionCache predictionCache,
+                                   @Value("${prediction.features:}") List<String> featureNames) {
+        this.modelStore = modelStore;
+        this.predictionCache = predictionCache;
+        this.forestConfig = forestConfig;
+        this.evaluationConfig = evaluationConfig;
+        int parallelism = forestConfig.getParallelism() > 0
+            ? forestConfig.getParallelism() : Runtime.getRuntime().availableProcessors();
+        this.forestPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("status-model-forest-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.featurePipeline = new FeaturePipeline(
+            FlightFeatures.byName(featureNames.isEmpty() ? FlightFeatures.names() : featureNames));
         this.statusToIndex = new HashMap<>();
         this.indexToStatus = new HashMap<>();
-        this.airlineToIndex = new HashMap<>();
-        this.departureToIndex = new HashMap<>();
-        this.arrivalToIndex = new HashMap<>();
 
         // Map flight statuses to indices
         statusToIndex.put("active", 0);
@@ -52,120 +112,378 @@ public class FlightPredictionService {
         indexToStatus.put(1, "scheduled");
         indexToStatus.put(2, "cancelled");
         indexToStatus.put(3, "landed");
+        this.statusClasses = new String[indexToStatus.size()];
+        indexToStatus.forEach((index, status) -> statusClasses[index] = status);
 
         logger.info("FlightPredictionService instance created: {}", this.hashCode());
     }
 
     /**
-     * Validates if a flight object contains all required data for training or prediction.
+     * Serves predictions from the last persisted model, if any, until the first retrain completes.
+     */
+    @PostConstruct
+    public void warmStart() {
+        modelStore.loadLatest().ifPresent(model -> {
+            modelVersions.accumulateAndGet(model.getVersion(), Math::max);
+            publish(model);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        trainingExecutor.shutdownNow();
+        shadowExecutor.shutdownNow();
+        forestPool.shutdownNow();
+    }
+
+    /**
+     * Returns the model snapshot currently used for predictions, or {@code null} if no model has been trained yet.
+     */
+    public StatusModel getCurrentModel() {
+        return currentModel.get();
+    }
+
+    /**
+     * Returns the cost of the last completed training run, or {@code null} if no model has been trained yet.
+     */
+    public TrainingStats getLastTrainingStats() {
+        return lastTraining.get();
+    }
+
+    /**
+     * Validates if a flight object contains all required data for training.
      */
     private boolean isValidFlight(Flight flight) {
+        return hasFeatures(flight) &&
+               flight.getFlightStatus() != null &&
+               statusToIndex.containsKey(flight.getFlightStatus().toLowerCase());
+    }
+
+    /**
+     * Validates if a flight object contains the data needed to build its features for prediction.
+     */
+    private boolean hasFeatures(Flight flight) {
         return flight != null &&
                flight.getAirline() != null &&
                flight.getDeparture() != null &&
-               flight.getArrival() != null &&
-               flight.getFlightStatus() != null &&
-               statusToIndex.containsKey(flight.getFlightStatus().toLowerCase());
+               flight.getArrival() != null;
     }
 
     /**
-     * Trains the Random Forest model using the provided flight data.
+     * Trains a candidate Random Forest model on the provided flight data and stages it for promotion.
+     * The first model is published directly; later candidates must pass {@link #stage} first.
      *
      * @param flights List of Flight objects for training.
      */
     public void trainStatusPredictor(List<Flight> flights) {
-        logger.info("trainStatusPredictor started with {} flights on instance {}", flights.size(), this.hashCode());
-        if (flights.isEmpty()) {
-            logger.warn("No flights provided for training");
+        trainCandidate(flights);
+    }
+
+    /**
+     * Retrains the model on the dedicated training executor. The candidate replaces the current snapshot only
+     * after it has been fully built and has passed evaluation; predictions keep using the previous snapshot in
+     * the meantime.
+     *
+     * @param flights List of Flight objects for training.
+     * @return A future completed with the candidate model, or {@code null} if no model could be trained.
+     */
+    public CompletableFuture<StatusModel> retrainAsync(List<Flight> flights) {
+        List<Flight> trainingFlights = List.copyOf(flights);
+        return CompletableFuture.supplyAsync(() -> trainCandidate(trainingFlights), trainingExecutor);
+    }
+
+    /**
+     * Holds out the most recent flights for validation, trains on the rest and stages the candidate.
+     * Flights are expected oldest first, as the training window returns them.
+     */
+    private StatusModel trainCandidate(List<Flight> flights) {
+        List<Flight> labelled = flights.stream().filter(this::isValidFlight).collect(Collectors.toList());
+        int holdoutRows = (int) Math.round(labelled.size() * evaluationConfig.getHoldoutFraction());
+        if (holdoutRows < evaluationConfig.getMinHoldoutRows()) {
+            holdoutRows = 0;
+        }
+        int split = labelled.size() - holdoutRows;
+        StatusModel candidate = buildModel(labelled.subList(0, split));
+        if (candidate != null) {
+            stage(candidate, labelled.subList(split, labelled.size()));
+        }
+        return candidate;
+    }
+
+    /**
+     * Compares a candidate with the live model on the hold-out flights. Candidates that are clearly less accurate
+     * or much slower are rejected; the rest start a shadow trial against the live model on incoming flights.
+     */
+    private void stage(StatusModel candidate, List<Flight> holdout) {
+        StatusModel live = currentModel.get();
+        if (live == null) {
+            promote(candidate, "no live model");
             return;
         }
+        if (!holdout.isEmpty()) {
+            ModelEvaluation candidateEval = evaluate(candidate, holdout);
+            ModelEvaluation liveEval = evaluate(live, holdout);
+            lastHoldout = Map.of("candidate", candidateEval, "live", liveEval);
+            logger.info("Hold-out on {} flights: candidate v{} accuracy {}, live v{} accuracy {}", holdout.size(),
+                candidate.getVersion(), candidateEval.accuracy(), live.getVersion(), liveEval.accuracy());
+            if (candidateEval.accuracy() + evaluationConfig.getPromotionMargin() < liveEval.accuracy()) {
+                reject(candidate, "less accurate than the live model on the hold-out set");
+                return;
+            }
+            if (tooSlow(candidateEval, liveEval)) {
+                reject(candidate, "slower than the live model on the hold-out set");
+                return;
+            }
+        }
+        ShadowTrial previous = shadowTrial.getAndSet(new ShadowTrial(candidate, live, statusClasses));
+        if (previous != null) {
+            logger.info("Shadow candidate v{} superseded by v{}", previous.getCandidate().getVersion(), candidate.getVersion());
+        }
+        logger.info("Candidate v{} is shadowing live v{}", candidate.getVersion(), live.getVersion());
+    }
 
-        logger.debug("Raw flights received: {}", flights);
+    /**
+     * Scores the current shadow candidate and the live model on consumed flights whose status is known.
+     * Scoring runs on a separate thread; the caller is never blocked.
+     */
+    public void observe(List<Flight> flights) {
+        if (shadowTrial.get() == null) {
+            return;
+        }
+        List<Flight> labelled = flights.stream().filter(this::isValidFlight).collect(Collectors.toList());
+        if (!labelled.isEmpty()) {
+            shadowExecutor.execute(() -> scoreShadow(labelled));
+        }
+    }
+
+    private void scoreShadow(List<Flight> flights) {
+        ShadowTrial trial = shadowTrial.get();
+        if (trial == null) {
+            return;
+        }
+        try {
+            int[] labels = labels(flights);
+            long start = System.nanoTime();
+            int[] candidatePredicted = trial.getCandidate().predict(trial.getCandidate().encode(flights));
+            long candidateDone = System.nanoTime();
+            int[] livePredicted = trial.getLive().predict(trial.getLive().encode(flights));
+            long liveDone = System.nanoTime();
+            trial.record(labels, candidatePredicted, candidateDone - start, livePredicted, liveDone - candidateDone);
+        } catch (Exception e) {
+            logger.error("Shadow scoring failed for candidate v{}: {}", trial.getCandidate().getVersion(), e.getMessage(), e);
+            return;
+        }
+
+        if (trial.samples() < evaluationConfig.getShadowSamples() || !shadowTrial.compareAndSet(trial, null)) {
+            return;
+        }
+        ModelEvaluation candidateEval = trial.candidateEvaluation();
+        ModelEvaluation liveEval = trial.liveEvaluation();
+        logger.info("Shadow trial on {} flights: candidate v{} accuracy {}, live v{} accuracy {}", trial.samples(),
+            candidateEval.modelVersion(), candidateEval.accuracy(), liveEval.modelVersion(), liveEval.accuracy());
+        if (candidateEval.accuracy() < liveEval.accuracy() + evaluationConfig.getPromotionMargin()) {
+            reject(trial.getCandidate(), "did not beat the live model by the promotion margin in the shadow trial");
+        } else if (tooSlow(candidateEval, liveEval)) {
+            reject(trial.getCandidate(), "slower than the live model in the shadow trial");
+        } else {
+            promote(trial.getCandidate(), "beat the live model in the shadow trial");
+        }
+    }
 
-        // Clear existing mappings
-        airlineToIndex.clear();
-        departureToIndex.clear();
-        arrivalToIndex.clear();
+    private boolean tooSlow(ModelEvaluation candidate, ModelEvaluation live) {
+        return live.latencyMicrosPerRow() > 0
+            && candidate.latencyMicrosPerRow() > live.latencyMicrosPerRow() * evaluationConfig.getMaxLatencyRatio();
+    }
 
-        // Initialize counters for indices
-        AtomicInteger nextAirlineId = new AtomicInteger(0);
-        AtomicInteger nextDepartureId = new AtomicInteger(0);
-        AtomicInteger nextArrivalId = new AtomicInteger(0);
+    private ModelEvaluation evaluate(StatusModel model, List<Flight> flights) {
+        int[] labels = labels(flights);
+        long start = System.nanoTime();
+        int[] predicted = model.predict(model.encode(flights));
+        long elapsed = System.nanoTime() - start;
+        ModelScore score = new ModelScore(model.getVersion(), statusClasses);
+        score.add(predicted, labels, elapsed);
+        return score.toEvaluation();
+    }
 
-        // Populate mappings for airlines, departures, and arrivals
-        for (Flight f : flights) {
-            if (f.getAirline() != null && f.getAirline().getIata() != null) {
-                airlineToIndex.computeIfAbsent(f.getAirline().getIata(), k ->nextAirlineId.getAndIncrement());
-            }
-            if (f.getDeparture() != null && f.getDeparture().getIata() != null) {
-                departureToIndex.computeIfAbsent(f.getDeparture().getIata(), k -> nextDepartureId.getAndIncrement());
-            }
-            if (f.getArrival() != null && f.getArrival().getIata() != null) {
-                arrivalToIndex.computeIfAbsent(f.getArrival().getIata(), k -> nextArrivalId.getAndIncrement());
-            }
+    private int[] labels(List<Flight> flights) {
+        int[] labels = new int[flights.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = statusToIndex.get(flights.get(i).getFlightStatus().toLowerCase());
+        }
+        return labels;
+    }
+
+    private void promote(StatusModel candidate, String reason) {
+        if (publish(candidate)) {
+            modelStore.save(candidate);
+            promotions.incrementAndGet();
+            lastDecision = Map.of("modelVersion", candidate.getVersion(), "promoted", true, "reason", reason, "at", Instant.now());
+        }
+    }
+
+    private void reject(StatusModel candidate, String reason) {
+        rejections.incrementAndGet();
+        lastDecision = Map.of("modelVersion", candidate.getVersion(), "promoted", false, "reason", reason, "at", Instant.now());
+        logger.info("Rejected candidate v{}: {}", candidate.getVersion(), reason);
+    }
+
+    /**
+     * Evaluation state for diagnostics: the live model, the last hold-out comparison, the running shadow trial
+     * and the last promotion decision.
+     */
+    public Map<String, Object> evaluationStats() {
+        StatusModel live = currentModel.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("liveVersion", live != null ? live.getVersion() : null);
+        stats.put("promotions", promotions.get());
+        stats.put("rejections", rejections.get());
+        stats.put("lastDecision", lastDecision);
+        stats.put("lastHoldout", lastHoldout);
+        ShadowTrial trial = shadowTrial.get();
+        if (trial != null) {
+            Map<String, Object> shadow = new LinkedHashMap<>();
+            shadow.put("samples", trial.samples());
+            shadow.put("requiredSamples", evaluationConfig.getShadowSamples());
+            shadow.put("candidate", trial.candidateEvaluation());
+            shadow.put("live", trial.liveEvaluation());
+            stats.put("shadow", shadow);
         }
+        return stats;
+    }
 
-        // Add "N/A" as a fallback for missing IATA codes
-        airlineToIndex.put("N/A", nextAirlineId.getAndIncrement());
-        departureToIndex.put("N/A", nextDepartureId.getAndIncrement());
-        arrivalToIndex.put("N/A", nextArrivalId.getAndIncrement());
+    /**
+     * Swaps in the given snapshot unless a newer one has already been published.
+     *
+     * @return {@code true} if the snapshot is now the current model.
+     */
+    private boolean publish(StatusModel model) {
+        StatusModel published = currentModel.accumulateAndGet(model,
+            (current, candidate) -> current == null || candidate.getVersion() > current.getVersion() ? candidate : current);
+        if (published == model) {
+            logger.info("Published {}", model);
+        } else {
+            logger.info("Discarded {} because newer {} is already published", model, published);
+        }
+        return published == model;
+    }
 
-        // Convert flights to tuples for training
-        Stream<Tuple> tupleStream = flights.stream()
+    /**
+     * Builds a new model snapshot with its own fitted feature pipeline. Nothing shared is modified, so this is safe to run
+     * while predictions are served from the current snapshot.
+     */
+    private StatusModel buildModel(List<Flight> flights) {
+        logger.info("trainStatusPredictor started with {} flights on instance {}", flights.size(), this.hashCode());
+        if (flights.isEmpty()) {
+            logger.warn("No flights provided for training");
+            return null;
+        }
+
+        logger.debug("Raw flights received: {}", flights);
+
+        List<Flight> trainingFlights = flights.stream()
             .peek(f -> logger.debug("Filtering flight: {}", f))
             .filter(this::isValidFlight)
-            .map(f -> {
-                String airlineIata = f.getAirline().getIata() != null ? f.getAirline().getIata() : "N/A";
-                String departureIata = f.getDeparture().getIata() != null ? f.getDeparture().getIata() : "N/A";
-                String arrivalIata = f.getArrival().getIata() != null ? f.getArrival().getIata() : "N/A";
-                Integer statusIndex = statusToIndex.get(f.getFlightStatus().toLowerCase());
-
-                Integer airlineIndex = airlineToIndex.get(airlineIata);
-                Integer departureIndex = departureToIndex.get(departureIata);
-                Integer arrivalIndex = arrivalToIndex.get(arrivalIata);
-
-                logger.debug("Mapping flight: airline_iata={}, departure_iata={}, arrival_iata={}, status={}",
-                    airlineIndex, departureIndex, arrivalIndex, statusIndex);
-                return Tuple.of(
-                    new Object[]{ airlineIndex, departureIndex, arrivalIndex, statusIndex },
-                    flightSchema
-                );
-            })
-            .filter(Objects::nonNull);
-
-        List<Tuple> tuples = tupleStream.collect(Collectors.toList());
-        logger.info("Collected {} valid tuples after filtering", tuples.size());
-
-        if (tuples.isEmpty()) {
-            logger.warn("No valid tuples after filtering - cannot train");
-            return;
+            .collect(Collectors.toList());
+        logger.info("Collected {} valid flights after filtering", trainingFlights.size());
+
+        if (trainingFlights.isEmpty()) {
+            logger.warn("No valid flights after filtering - cannot train");
+            return null;
         }
 
-        // Prepare training data
-        DataFrame trainingData = DataFrame.of(tuples, flightSchema);
-        logger.info("Prepared training DataFrame with {} rows: {}", trainingData.size(), trainingData);
+        // Fit the feature encoders to this snapshot's flights and extract every row once
+        FeaturePipeline pipeline = featurePipeline.fit(trainingFlights);
+        int[] statusArray = new int[trainingFlights.size()];
+        for (int i = 0; i < statusArray.length; i++) {
+            statusArray[i] = statusToIndex.get(trainingFlights.get(i).getFlightStatus().toLowerCase());
+        }
+        FeatureMatrix trainingMatrix = pipeline.transform(trainingFlights);
+        DataFrame trainingData = trainingMatrix.toDataFrame(LABEL, statusArray);
+        logger.info("Prepared training DataFrame with {} rows and features {}", trainingData.size(), pipeline);
 
         // Log unique flight status classes
-        int[] statusArray = trainingData.column("flight_status").toIntArray();
         Set<Integer> uniqueStatuses = Arrays.stream(statusArray)
             .boxed()
             .collect(Collectors.toSet());
         logger.info("Number of unique flight_status classes: {}", uniqueStatuses.size());
         logger.debug("Unique flight_status values: {}", uniqueStatuses);
 
-        // Train the Random Forest model with 100 trees
-        Formula formula = Formula.lhs("flight_status");
-        Properties props = new Properties();
-        props.setProperty("smile.random.forest.trees", "100"); // Set number of trees to 100
+        // Train the Random Forest on the dedicated pool
+        Formula formula = Formula.lhs(LABEL);
+        int rows = trainingData.size();
+        int trees = forestConfig.getTrees();
+        int mtry = forestConfig.getMtry();
+        int maxNodes = forestConfig.getMaxNodes() > 0 ? forestConfig.getMaxNodes() : Math.max(2, rows / 5);
+        int[] classWeight = classWeights(statusArray);
+        Long seed = forestConfig.getSeed();
 
+        StatusModel model = null;
         try {
-            logger.debug("Training RandomForest with {} rows and {} trees", trainingData.size(), 100);
-            statusPredictor = RandomForest.fit(formula, trainingData, props);
-            logger.info("Successfully trained RandomForest with {} flights", trainingData.size());
-        } catch (Exception e) {
-            logger.error("Failed to train RandomForest: {}", e.getMessage(), e);
+            logger.debug("Training RandomForest with {} rows and {} trees on {} threads", rows, trees, forestPool.getParallelism());
+            long start = System.nanoTime();
+            RandomForest forest = forestPool.submit(() -> RandomForest.fit(formula, trainingData, trees, mtry,
+                SplitRule.GINI, forestConfig.getMaxDepth(), maxNodes, forestConfig.getNodeSize(),
+                forestConfig.getSamplingRate(), classWeight,
+                seed != null ? LongStream.range(seed, seed + trees) : null)).get();
+            long elapsedNanos = Math.max(1, System.nanoTime() - start);
+
+            model = new StatusModel(modelVersions.incrementAndGet(), Instant.now(), rows, forest,
+                compile(forest, trainingMatrix, trainingData), pipeline);
+            TrainingStats stats = new TrainingStats(model.getVersion(), rows, pipeline.size(), trees,
+                forestPool.getParallelism(), elapsedNanos / 1_000_000, rows * 1e9 / elapsedNanos, model.getTrainedAt());
+            lastTraining.set(stats);
+            logger.info("Successfully trained RandomForest with {} flights in {} ms ({} rows/s)",
+                rows, stats.wallTimeMillis(), String.format("%.0f", stats.rowsPerSecond()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while training RandomForest");
+        } catch (ExecutionException | RuntimeException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            logger.error("Failed to train RandomForest: {}", cause.getMessage(), cause);
         }
         logger.info("trainStatusPredictor finished on instance {}", this.hashCode());
+        return model;
+    }
+
+    /**
+     * Flattens the forest for fast inference and checks that it predicts exactly like Smile on every training row.
+     *
+     * @return The compiled forest, or {@code null} to keep scoring with Smile if compilation or the check fails.
+     */
+    private CompiledForest compile(RandomForest forest, FeatureMatrix rows, DataFrame data) {
+        try {
+            CompiledForest compiled = CompiledForest.compile(forest);
+            int[] expected = forest.predict(data);
+            int[] actual = compiled.predict(rows);
+            if (!Arrays.equals(expected, actual)) {
+                logger.warn("Compiled forest disagrees with Smile on the training rows; scoring with Smile");
+                return null;
+            }
+            logger.info("Compiled {}", compiled);
+            return compiled;
+        } catch (RuntimeException e) {
+            logger.warn("Could not compile forest, scoring with Smile: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Maps {@code prediction.forest.class-weights} onto the classes present in the training labels. Smile indexes
+     * class weights by the rank of each label among the distinct labels.
+     *
+     * @return The weights, or {@code null} if every class weighs 1.
+     */
+    private int[] classWeights(int[] labels) {
+        Map<String, Integer> configured = forestConfig.getClassWeights();
+        if (configured.isEmpty()) {
+            return null;
+        }
+        int[] present = Arrays.stream(labels).distinct().sorted().toArray();
+        int[] weights = new int[present.length];
+        for (int i = 0; i < present.length; i++) {
+            weights[i] = configured.getOrDefault(indexToStatus.get(present[i]), 1);
+        }
+        return weights;
     }
 
     /**
@@ -176,44 +494,73 @@ public class FlightPredictionService {
      */
     public String predictFlightStatus(Flight flight) {
         logger.debug("predictFlightStatus called for flight: {} on instance {}", flight, this.hashCode());
-        if (statusPredictor == null) {
-            logger.warn("Model not trained for flight: {}", flight);
-            return "Unknown (Model not trained)";
-        }
-        if (!isValidFlight(flight)) {
-            logger.debug("Missing or invalid data for flight: {}", flight);
-            return "Unknown (Missing or invalid data)";
-        }
-
-        // Prepare features for prediction
-        String airlineIata = flight.getAirline().getIata() != null ? flight.getAirline().getIata() : "N/A";
-        String departureIata = flight.getDeparture().getIata() != null ? flight.getDeparture().getIata() : "N/A";
-        String arrivalIata = flight.getArrival().getIata() != null ? flight.getArrival().getIata() : "N/A";
-
-        Integer airlineIndex = airlineToIndex.getOrDefault(airlineIata, airlineToIndex.get("N/A"));
-        Integer departureIndex = departureToIndex.getOrDefault(departureIata, departureToIndex.get("N/A"));
-        Integer arrivalIndex = arrivalToIndex.getOrDefault(arrivalIata, arrivalToIndex.get("N/A"));
-
-        Object[] features = new Object[]{ airlineIndex, departureIndex, arrivalIndex };
-        StructType inputSchema = new StructType(
-            new StructField("airline_iata", DataTypes.IntegerType),
-            new StructField("departure_iata", DataTypes.IntegerType),
-            new StructField("arrival_iata", DataTypes.IntegerType)
-        );
-        DataFrame input = DataFrame.of(
-            Stream.of(Tuple.of(features, inputSchema)),
-            inputSchema
-        );
-
-        // Make prediction
+        return predictFlightStatuses(Collections.singletonList(flight)).get(0);
+    }
+
+    /**
+     * Predicts the statuses of a batch of flights in a single pass over the trained model.
+     * All flights are encoded into one feature matrix so the model is only invoked once per batch.
+     *
+     * @param flights The flights to predict the statuses for.
+     * @return The predicted statuses, in the same order as {@code flights}.
+     */
+    public List<String> predictFlightStatuses(List<Flight> flights) {
+        String[] predictions = new String[flights.size()];
+        StatusModel model = currentModel.get();
+        if (model == null) {
+            logger.warn("Model not trained for {} flights", flights.size());
+            Arrays.fill(predictions, "Unknown (Model not trained)");
+            return Arrays.asList(predictions);
+        }
+
+        // Collect every flight with usable features, remembering its position in the batch
+        List<Flight> scored = new ArrayList<>(flights.size());
+        int[] positions = new int[flights.size()];
+        for (int i = 0; i < predictions.length; i++) {
+            Flight flight = flights.get(i);
+            if (!hasFeatures(flight)) {
+                logger.debug("Missing or invalid data for flight: {}", flight);
+                predictions[i] = "Unknown (Missing or invalid data)";
+                continue;
+            }
+            positions[scored.size()] = i;
+            scored.add(flight);
+        }
+        int rows = scored.size();
+        if (rows == 0) {
+            return Arrays.asList(predictions);
+        }
+
+        // Extract the features of the whole batch once; only rows not answered by the cache go through the forest
         try {
-            int predictionIndex = statusPredictor.predict(input)[0];
-            String prediction = indexToStatus.getOrDefault(predictionIndex, "Unknown");
-            logger.debug("Predicted '{}' for flight: {}", prediction, flight);
-            return prediction;
+            FeatureMatrix input = model.encode(scored);
+            int[] labels = new int[rows];
+            int[] misses = new int[rows];
+            int missCount = 0;
+            for (int row = 0; row < rows; row++) {
+                labels[row] = predictionCache.get(model.getVersion(), input.row(row));
+                if (PredictionCache.isMiss(labels[row])) {
+                    misses[missCount++] = row;
+                }
+            }
+            if (missCount > 0) {
+                int[] computed = model.predict(input.select(misses, missCount));
+                for (int i = 0; i < missCount; i++) {
+                    labels[misses[i]] = computed[i];
+                    predictionCache.put(model.getVersion(), input.row(misses[i]), computed[i]);
+                }
+            }
+            for (int row = 0; row < rows; row++) {
+                predictions[positions[row]] = indexToStatus.getOrDefault(labels[row], "Unknown");
+            }
+            logger.debug("Predicted statuses for {} of {} flights ({} computed, {} cached)",
+                rows, flights.size(), missCount, rows - missCount);
         } catch (Exception e) {
-            logger.error("Prediction error for flight {}: {}", flight, e.getMessage(), e);
-            return "Unknown (Prediction error)";
+            logger.error("Prediction error for batch of {} flights: {}", rows, e.getMessage(), e);
+            for (int row = 0; row < rows; row++) {
+                predictions[positions[row]] = "Unknown (Prediction error)";
+            }
         }
+        return Arrays.asList(predictions);
     }
-}
\ No newline at end of file
+}
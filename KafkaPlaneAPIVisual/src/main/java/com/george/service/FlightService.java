@@ -1,106 +1,238 @@
 package com.george.service;
 
 import com.george.config.AviationStackConfig;
+import com.george.config.IngestionConfig;
+import com.george.ingest.FlightStreamDecoder;
+import com.george.kafka.FlightPublisher;
 import com.george.model.Flight;
 import com.george.model.FlightResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public class FlightService {
 
     private final AviationStackConfig config;
+    private final IngestionConfig ingestionConfig;
+    private final CacheManager cacheManager;
     private final WebClient webClient;
-    private final KafkaTemplate<String, Flight> kafkaTemplate;
-    private final String flightTopic;
+    private final FlightStreamDecoder flightDecoder;
+    private final FlightPublisher flightPublisher;
+    private final SingleFlight<Map<String, String>, List<Flight>> flightRequests = new SingleFlight<>();
+    private final Flux<List<Flight>> flightsStream;
 
     private static final Logger logger = LoggerFactory.getLogger(FlightService.class);
 
     public FlightService(
             AviationStackConfig config,
+            IngestionConfig ingestionConfig,
+            CacheManager cacheManager,
             WebClient aviationStackWebClient,
-            KafkaTemplate<String, Flight> kafkaTemplate,
-            @Value("${kafka.topic.flights}") String flightTopic) {
+            FlightStreamDecoder flightDecoder,
+            FlightPublisher flightPublisher,
+            @Value("${aviationstack.stream.interval:PT30S}") Duration streamInterval) {
         this.config = config;
+        this.ingestionConfig = ingestionConfig;
+        this.cacheManager = cacheManager;
         this.webClient = aviationStackWebClient;
-        this.kafkaTemplate = kafkaTemplate;
-        this.flightTopic = flightTopic;
-        logger.info("FlightService initialized with topic: {}", flightTopic);
+        this.flightDecoder = flightDecoder;
+        this.flightPublisher = flightPublisher;
+        this.flightsStream = sharedFlightsStream(streamInterval);
+        logger.info("FlightService initialized");
     }
 
     @Cacheable(value = "flights", key = "'all'", unless = "#result.isEmpty()")
     public Mono<List<Flight>> getFlights() {
+        return flightRequests.execute(SingleFlight.normalize(Map.of("limit", "500")), this::fetchFlights);
+    }
+
+    private Mono<List<Flight>> fetchFlights() {
     	logger.info("Using access_key: {}", config.getKey());
-        return webClient.get()
-            .uri(uriBuilder -> uriBuilder
+        return streamFlights(uriBuilder -> uriBuilder
                 .path("/v1/flights")
                 .queryParam("access_key", config.getKey())
                 .queryParam("limit", 500)
-                .build())
-            .retrieve()
-            .bodyToMono(FlightResponse.class)
-            .doOnNext(response -> logger.debug("Raw API response: {}", response))
-            .map(FlightResponse::getData)
+                .build(), pagination -> logger.debug("Raw API pagination: total={}", pagination.getTotal()))
+            .collectList()
             .doOnNext(flights -> logger.debug("Mapped flights: {}", flights))
-            .doOnNext(this::sendFlightsToKafka)
             .onErrorResume(e -> {
                 logger.error("Error fetching flights: {}", e.getMessage(), e);
                 return Mono.just(Collections.emptyList());
             });
     }
 
-    private void sendFlightsToKafka(List<Flight> flights) {
-        CompletableFuture.runAsync(() -> {
-            for (Flight flight : flights) {
-                try {
-                    String key = (flight.getFlightDate() != null && flight.getDeparture() != null && flight.getDeparture().getIata() != null)
-                        ? flight.getFlightDate() + "-" + flight.getDeparture().getIata()
-                        : "unknown-" + (flight.getDeparture() != null && flight.getDeparture().getIata() != null ? flight.getDeparture().getIata() : "unknown");
-                    kafkaTemplate.send(flightTopic, key, flight);
-                    logger.debug("Sent flight to Kafka: key={}", key);
-                } catch (Exception e) {
-                    logger.error("Error sending flight to Kafka: {}", e.getMessage(), e);
-                }
+    /**
+     * Streams the flights of one upstream request as they are decoded from the response body. Each flight is
+     * handed to the Kafka publisher as soon as it is decoded, while the rest of the body is still arriving.
+     * Repeats of a flight within the response are dropped before they are published.
+     */
+    private Flux<Flight> streamFlights(Function<UriBuilder, URI> uriFunction,
+                                       Consumer<FlightResponse.Pagination> onPagination) {
+        Flux<DataBuffer> body = webClient.get()
+            .uri(uriFunction)
+            .retrieve()
+            .bodyToFlux(DataBuffer.class);
+        return flightDecoder.decode(body, onPagination)
+            .distinct()
+            .doOnNext(flightPublisher::publish);
+    }
+
+    /**
+     * Ingests the full upstream feed. The first page is fetched to read {@code pagination.total}; the remaining
+     * offsets are then fetched concurrently, bounded by {@code aviationstack.ingest.concurrency} and spaced by
+     * {@code aviationstack.ingest.min-request-interval}. Each page is published to Kafka while it streams in.
+     *
+     * <p>The flights ingested so far replace the {@code flights} cache entry behind {@link #getFlights()} as pages
+     * arrive, so readers see the growing feed without waiting for the whole run. The entry is refreshed whenever the
+     * feed has grown by a tenth since the last refresh, and once more when the run completes.</p>
+     *
+     * @return The pages of flights, in arrival order.
+     */
+    public Flux<List<Flight>> ingestAllFlights() {
+        int pageSize = ingestionConfig.getPageSize();
+        IngestedFeed feed = new IngestedFeed(cacheManager.getCache("flights"));
+        return fetchPage(0)
+            .flatMapMany(first -> {
+                int total = first.getPagination() != null ? first.getPagination().getTotal() : 0;
+                int pages = Math.min(ingestionConfig.getMaxPages(), (total + pageSize - 1) / pageSize);
+                logger.info("Ingesting {} flights in {} pages of {}", total, pages, pageSize);
+                Flux<FlightResponse> remaining = Flux.range(1, Math.max(0, pages - 1))
+                    .delayElements(ingestionConfig.getMinRequestInterval())
+                    .flatMap(page -> fetchPage(page * pageSize), ingestionConfig.getConcurrency());
+                return Flux.concat(Mono.just(first), remaining);
+            })
+            .filter(response -> response.getData() != null && !response.getData().isEmpty())
+            .doOnNext(response -> {
+                int offset = response.getPagination() != null ? response.getPagination().getOffset() : 0;
+                feed.add(response.getData());
+                logger.debug("Ingested page at offset {} with {} flights", offset, response.getData().size());
+            })
+            .doOnComplete(feed::publish)
+            .map(FlightResponse::getData);
+    }
+
+    /**
+     * Flights ingested so far in one run, copied into the {@code flights} cache as the feed grows.
+     */
+    private static final class IngestedFeed {
+
+        private final Cache cache;
+        private final List<Flight> flights = new ArrayList<>();
+        private int published;
+
+        IngestedFeed(Cache cache) {
+            this.cache = cache;
+        }
+
+        synchronized void add(List<Flight> page) {
+            flights.addAll(page);
+            if (flights.size() - published >= Math.max(1, published / 10)) {
+                publish();
             }
-        });
+        }
+
+        synchronized void publish() {
+            if (cache != null && !flights.isEmpty() && published != flights.size()) {
+                cache.put("all", List.copyOf(flights));
+                published = flights.size();
+            }
+        }
+    }
+
+    /**
+     * Fetches one page of the feed, backing off and retrying when upstream signals rate limiting.
+     * A page that still fails is logged and skipped so the rest of the ingestion can proceed.
+     */
+    private Mono<FlightResponse> fetchPage(int offset) {
+        return Mono.defer(() -> {
+                FlightResponse response = new FlightResponse();
+                return streamFlights(uriBuilder -> uriBuilder
+                        .path("/v1/flights")
+                        .queryParam("access_key", config.getKey())
+                        .queryParam("limit", ingestionConfig.getPageSize())
+                        .queryParam("offset", offset)
+                        .build(), response::setPagination)
+                    .collectList()
+                    .map(flights -> {
+                        response.setData(flights);
+                        return response;
+                    });
+            })
+            .retryWhen(Retry.backoff(ingestionConfig.getMaxRetries(), Duration.ofSeconds(1))
+                .filter(e -> e instanceof WebClientResponseException.TooManyRequests
+                    || e instanceof WebClientResponseException.ServiceUnavailable)
+                .doBeforeRetry(signal -> logger.warn("Rate limited fetching offset {}, retry #{}",
+                    offset, signal.totalRetries() + 1)))
+            .onErrorResume(e -> {
+                logger.error("Error fetching flights at offset {}: {}", offset, e.getMessage(), e);
+                return Mono.empty();
+            });
     }
 
+    /**
+     * Searches upstream for flights matching the query. Concurrent searches for the same normalized query share
+     * a single upstream exchange.
+     */
     public Mono<List<Flight>> searchFlights(Map<String, String> queryParams) {
-        return webClient.get()
-            .uri(uriBuilder -> {
+        Map<String, String> query = SingleFlight.normalize(queryParams);
+        return flightRequests.execute(query, () -> fetchSearch(query));
+    }
+
+    private Mono<List<Flight>> fetchSearch(Map<String, String> queryParams) {
+        return streamFlights(uriBuilder -> {
                 uriBuilder.path("/v1/flights");
                 queryParams.forEach(uriBuilder::queryParam);
                 uriBuilder.queryParam("access_key", config.getKey());
                 return uriBuilder.build();
-            })
-            .retrieve()
-            .bodyToMono(FlightResponse.class)
-            .map(FlightResponse::getData)
-            .doOnNext(this::sendFlightsToKafka)
+            }, pagination -> { })
+            .collectList()
             .onErrorResume(e -> {
                 logger.error("Error searching flights: {}", e.getMessage(), e);
                 return Mono.just(Collections.emptyList());
             });
     }
 
+    /**
+     * Returns the shared flight stream. All subscribers are fed from one polling loop; each subscriber only keeps
+     * the latest undelivered update, so a slow client skips stale snapshots instead of holding up the others.
+     */
     public Flux<List<Flight>> getFlightsStream() {
-        return Flux.interval(Duration.ofSeconds(30))
-            .flatMap(i -> getFlights())
+        return flightsStream.onBackpressureLatest();
+    }
+
+    /**
+     * Polls upstream once per interval and multicasts to every subscriber, replaying the latest snapshot to late
+     * joiners. Polling starts with the first subscriber and stops a grace period after the last one leaves.
+     */
+    private Flux<List<Flight>> sharedFlightsStream(Duration interval) {
+        return Flux.interval(Duration.ZERO, interval)
+            .onBackpressureDrop()
+            .concatMap(i -> getFlights())
             .doOnNext(flights -> logger.info("Streamed flights update: {} flights", flights.size()))
-            .onErrorContinue((e, obj) -> logger.error("Error in flight stream: {}", e.getMessage(), e));
+            .onErrorContinue((e, obj) -> logger.error("Error in flight stream: {}", e.getMessage(), e))
+            .replay(1)
+            .refCount(1, interval);
     }
 
     public Mono<List<Flight>> getActiveFlights() {
@@ -0,0 +1,56 @@
+package com.george.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single in-flight {@link Mono}.
+ * Every caller that arrives while a call is running shares its result; the key is released as soon as the call
+ * terminates, so the next caller after that triggers a fresh call.
+ *
+ * @param <K> key identifying equivalent calls
+ * @param <V> result type
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<V>> created = new AtomicReference<>();
+            return inFlight.computeIfAbsent(key, k -> {
+                Mono<V> shared = call.get()
+                    .doFinally(signal -> inFlight.remove(k, created.get()))
+                    .share();
+                created.set(shared);
+                return shared;
+            });
+        });
+    }
+
+    /**
+     * Number of distinct calls currently in flight.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Normalizes query parameters into a stable key: names are trimmed and lower-cased, values trimmed,
+     * and entries sorted so that equivalent queries map to the same key regardless of insertion order.
+     */
+    public static Map<String, String> normalize(Map<String, String> queryParams) {
+        Map<String, String> normalized = new TreeMap<>();
+        queryParams.forEach((name, value) -> {
+            if (name != null && value != null) {
+                normalized.put(name.trim().toLowerCase(), value.trim());
+            }
+        });
+        return normalized;
+    }
+}
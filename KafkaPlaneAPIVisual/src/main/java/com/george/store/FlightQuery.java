@@ -0,0 +1,18 @@
+package com.george.store;
+
+/**
+ * Multi-predicate flight search. Every non-null criterion must match; codes are compared case-insensitively.
+ *
+ * @param sort one of {@code flight_date}, {@code departure}, {@code arrival}, {@code airline},
+ *             {@code flight_number} or {@code status}, optionally prefixed with {@code -} for descending order
+ */
+public record FlightQuery(
+        String airline,
+        String flightNumber,
+        String departure,
+        String arrival,
+        String status,
+        String sort,
+        int offset,
+        int limit) {
+}
@@ -0,0 +1,153 @@
+package com.george.store;
+
+import com.george.model.Flight;
+import com.george.model.FlightKeys;
+import com.george.model.FlightTimestamps;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Evaluates {@link FlightQuery} searches against a snapshot of the {@link FlightStateStore}.
+ *
+ * <p>The snapshot holds the flights in an array plus one bitmap per distinct value of every searchable field, so
+ * a multi-predicate search is a handful of bitmap intersections. A new snapshot is built at most once per
+ * {@code flights.query.refresh-interval}, and only when the store has changed.</p>
+ */
+@Component
+public class FlightQueryEngine {
+
+    private static final Map<String, Comparator<Flight>> SORTS = Map.of(
+        "flight_date", Comparator.comparingInt(
+            (Flight f) -> f.getFlightDateEpochDay() <= FlightTimestamps.RAW_DATE ? Integer.MAX_VALUE : f.getFlightDateEpochDay()),
+        "departure", Comparator.comparingLong(
+            (Flight f) -> lastIfAbsent(f.getDeparture() != null ? f.getDeparture().getScheduledEpochSecond() : FlightTimestamps.ABSENT)),
+        "arrival", Comparator.comparingLong(
+            (Flight f) -> lastIfAbsent(f.getArrival() != null ? f.getArrival().getScheduledEpochSecond() : FlightTimestamps.ABSENT)),
+        "airline", Comparator.comparing(
+            (Flight f) -> f.getAirline() != null ? f.getAirline().getIata() : null,
+            Comparator.nullsLast(Comparator.naturalOrder())),
+        "flight_number", Comparator.comparing(FlightKeys::flightNumber, Comparator.nullsLast(Comparator.naturalOrder())),
+        "status", Comparator.comparing(Flight::getFlightStatus, Comparator.nullsLast(Comparator.naturalOrder())));
+
+    private final FlightStateStore store;
+    private final long refreshIntervalNanos;
+    private volatile Snapshot snapshot = new Snapshot(-1, 0, new Flight[0]);
+
+    public FlightQueryEngine(
+            FlightStateStore store,
+            @Value("${flights.query.refresh-interval:PT1S}") Duration refreshInterval) {
+        this.store = store;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Runs the query against the current snapshot.
+     *
+     * @return The matching flights after sorting, offset and limit.
+     */
+    public List<Flight> search(FlightQuery query) {
+        Snapshot current = currentSnapshot();
+        BitSet matches = current.match(query);
+        List<Flight> result = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            result.add(current.flights[i]);
+        }
+
+        String sort = query.sort();
+        if (sort != null && !sort.isBlank()) {
+            boolean descending = sort.startsWith("-");
+            Comparator<Flight> comparator = SORTS.get((descending ? sort.substring(1) : sort).toLowerCase());
+            if (comparator == null) {
+                throw new IllegalArgumentException("Unsupported sort field: " + sort);
+            }
+            result.sort(descending ? comparator.reversed() : comparator);
+        }
+
+        int from = Math.min(Math.max(0, query.offset()), result.size());
+        int to = query.limit() > 0 ? Math.min(result.size(), from + query.limit()) : result.size();
+        return new ArrayList<>(result.subList(from, to));
+    }
+
+    private static long lastIfAbsent(long epochSecond) {
+        return epochSecond == FlightTimestamps.ABSENT ? Long.MAX_VALUE : epochSecond;
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        long version = store.getVersion();
+        if (current.version == version
+                || (current.version >= 0 && System.nanoTime() - current.builtAt < refreshIntervalNanos)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current.version != store.getVersion()) {
+                long buildVersion = store.getVersion();
+                current = new Snapshot(buildVersion, System.nanoTime(), store.all().toArray(new Flight[0]));
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Immutable, bitmap-indexed copy of the store at one version.
+     */
+    private static final class Snapshot {
+
+        final long version;
+        final long builtAt;
+        final Flight[] flights;
+        final Map<String, BitSet> airlines = new HashMap<>();
+        final Map<String, BitSet> flightNumbers = new HashMap<>();
+        final Map<String, BitSet> departures = new HashMap<>();
+        final Map<String, BitSet> arrivals = new HashMap<>();
+        final Map<String, BitSet> statuses = new HashMap<>();
+
+        Snapshot(long version, long builtAt, Flight[] flights) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.flights = flights;
+            for (int i = 0; i < flights.length; i++) {
+                Flight f = flights[i];
+                add(airlines, f.getAirline() != null ? f.getAirline().getIata() : null, i);
+                add(flightNumbers, FlightKeys.flightNumber(f), i);
+                add(departures, f.getDeparture() != null ? f.getDeparture().getIata() : null, i);
+                add(arrivals, f.getArrival() != null ? f.getArrival().getIata() : null, i);
+                add(statuses, f.getFlightStatus(), i);
+            }
+        }
+
+        private static void add(Map<String, BitSet> index, String value, int position) {
+            if (value != null) {
+                index.computeIfAbsent(value.toUpperCase(), v -> new BitSet()).set(position);
+            }
+        }
+
+        BitSet match(FlightQuery query) {
+            BitSet result = new BitSet(flights.length);
+            result.set(0, flights.length);
+            intersect(result, airlines, query.airline());
+            intersect(result, flightNumbers, query.flightNumber());
+            intersect(result, departures, query.departure());
+            intersect(result, arrivals, query.arrival());
+            intersect(result, statuses, query.status());
+            return result;
+        }
+
+        private static void intersect(BitSet result, Map<String, BitSet> index, String value) {
+            if (value == null || result.isEmpty()) {
+                return;
+            }
+            BitSet postings = index.get(value.trim().toUpperCase());
+            if (postings == null) {
+                result.clear();
+            } else {
+                result.and(postings);
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.george.store;
+
+import com.george.model.Flight;
+import com.george.model.FlightKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory view of the latest state of every flight consumed from the flights topic, keyed by
+ * {@link FlightKeys#identity(Flight)} and compacted so each flight is held once.
+ *
+ * <p>Secondary indexes by airline, departure, arrival, flight number and status map index values to flight keys.
+ * Writes are serialized; reads are lock-free and re-check each candidate against the primary record, so a reader
+ * racing a write never returns a flight that no longer matches.</p>
+ */
+@Component
+public class FlightStateStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightStateStore.class);
+
+    private record Entry(Flight flight, long updatedAt) { }
+
+    private final Map<String, Entry> flights = new ConcurrentHashMap<>();
+    private final Index byAirline = new Index(f -> f.getAirline() != null ? upper(f.getAirline().getIata()) : null);
+    private final Index byDeparture = new Index(f -> f.getDeparture() != null ? upper(f.getDeparture().getIata()) : null);
+    private final Index byArrival = new Index(f -> f.getArrival() != null ? upper(f.getArrival().getIata()) : null);
+    private final Index byFlightNumber = new Index(f -> upper(FlightKeys.flightNumber(f)));
+    private final Index byStatus = new Index(f -> f.getFlightStatus() != null ? f.getFlightStatus().toLowerCase() : null);
+    private final List<Index> indexes = List.of(byAirline, byDeparture, byArrival, byFlightNumber, byStatus);
+
+    private final Duration maxStaleness;
+    private final Duration retention;
+    private volatile long lastUpdated;
+    private volatile long lastSeen;
+    private volatile long version;
+
+    public FlightStateStore(
+            @Value("${flights.store.max-staleness:PT2M}") Duration maxStaleness,
+            @Value("${flights.store.retention:PT24H}") Duration retention) {
+        this.maxStaleness = maxStaleness;
+        this.retention = retention;
+    }
+
+    /**
+     * Applies a batch of flight updates; each flight replaces any earlier state with the same identity.
+     */
+    public synchronized void upsertAll(Collection<Flight> updates) {
+        long now = System.currentTimeMillis();
+        int applied = 0;
+        for (Flight flight : updates) {
+            if (flight == null) {
+                continue;
+            }
+            String key = FlightKeys.identity(flight);
+            Entry previous = flights.put(key, new Entry(flight, now));
+            for (Index index : indexes) {
+                index.update(key, previous != null ? previous.flight() : null, flight);
+            }
+            applied++;
+        }
+        lastSeen = now;
+        if (applied > 0) {
+            // Only real changes invalidate views derived from the version
+            lastUpdated = now;
+            version++;
+        }
+    }
+
+    /**
+     * Records that the feed is being consumed and is caught up, even though nothing changed. Unchanged flights are
+     * filtered before they reach the store, so a stable board produces no upserts; freshness follows this
+     * heartbeat rather than the last mutation.
+     */
+    public void markLive() {
+        lastSeen = System.currentTimeMillis();
+    }
+
+    /**
+     * Drops flights that have not been updated within the retention period.
+     */
+    @Scheduled(fixedDelayString = "${flights.store.eviction-interval:PT10M}")
+    public synchronized void evictExpired() {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        int evicted = 0;
+        for (Iterator<Map.Entry<String, Entry>> it = flights.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Entry> entry = it.next();
+            if (entry.getValue().updatedAt() < cutoff) {
+                it.remove();
+                for (Index index : indexes) {
+                    index.update(entry.getKey(), entry.getValue().flight(), null);
+                }
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            version++;
+            logger.info("Evicted {} expired flights from the state store, {} remaining", evicted, flights.size());
+        }
+    }
+
+    public Optional<Flight> get(String key) {
+        Entry entry = flights.get(key);
+        return entry != null ? Optional.of(entry.flight()) : Optional.empty();
+    }
+
+    public List<Flight> all() {
+        List<Flight> result = new ArrayList<>(flights.size());
+        for (Entry entry : flights.values()) {
+            result.add(entry.flight());
+        }
+        return result;
+    }
+
+    public List<Flight> findByAirline(String airlineIata) {
+        return byAirline.find(upper(airlineIata));
+    }
+
+    public List<Flight> findByDeparture(String departureIata) {
+        return byDeparture.find(upper(departureIata));
+    }
+
+    public List<Flight> findByArrival(String arrivalIata) {
+        return byArrival.find(upper(arrivalIata));
+    }
+
+    /**
+     * Flights departing from or arriving at the airport.
+     */
+    public List<Flight> findByAirport(String airportIata) {
+        if (airportIata == null) {
+            return Collections.emptyList();
+        }
+        List<Flight> result = new ArrayList<>(findByDeparture(airportIata));
+        for (Flight flight : findByArrival(airportIata)) {
+            if (!upper(airportIata).equals(byDeparture.valueOf(flight))) {
+                result.add(flight);
+            }
+        }
+        return result;
+    }
+
+    public List<Flight> findByFlightNumber(String flightNumber) {
+        return byFlightNumber.find(upper(flightNumber));
+    }
+
+    public List<Flight> findByStatus(String status) {
+        return byStatus.find(status != null ? status.toLowerCase() : null);
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    /**
+     * Monotonic counter bumped on every change, for consumers that cache derived views.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * The store is fresh if it holds flights and the feed was consumed, or confirmed live through
+     * {@link #markLive()}, within {@code flights.store.max-staleness}.
+     */
+    public boolean isFresh() {
+        return !flights.isEmpty() && System.currentTimeMillis() - lastSeen <= maxStaleness.toMillis();
+    }
+
+    /**
+     * When a flight in the store last changed.
+     */
+    public long getLastUpdated() {
+        return lastUpdated;
+    }
+
+    private static String upper(String value) {
+        return value != null ? value.toUpperCase() : null;
+    }
+
+    /**
+     * Secondary index from one field value to the keys of the flights currently holding that value.
+     */
+    private final class Index {
+
+        private final Function<Flight, String> extractor;
+        private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+        Index(Function<Flight, String> extractor) {
+            this.extractor = extractor;
+        }
+
+        String valueOf(Flight flight) {
+            return extractor.apply(flight);
+        }
+
+        void update(String key, Flight previous, Flight current) {
+            String oldValue = previous != null ? extractor.apply(previous) : null;
+            String newValue = current != null ? extractor.apply(current) : null;
+            if (Objects.equals(oldValue, newValue)) {
+                return;
+            }
+            if (oldValue != null) {
+                Set<String> keys = postings.get(oldValue);
+                if (keys != null) {
+                    keys.remove(key);
+                    if (keys.isEmpty()) {
+                        postings.remove(oldValue);
+                    }
+                }
+            }
+            if (newValue != null) {
+                postings.computeIfAbsent(newValue, v -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+
+        List<Flight> find(String value) {
+            if (value == null) {
+                return Collections.emptyList();
+            }
+            Set<String> keys = postings.get(value);
+            if (keys == null) {
+                return Collections.emptyList();
+            }
+            List<Flight> result = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                Entry entry = flights.get(key);
+                if (entry != null && value.equals(extractor.apply(entry.flight()))) {
+                    result.add(entry.flight());
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.george.stream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.george.model.Flight;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One update on the dashboard stream. A keyframe carries the complete board in {@code flights}; a delta carries
+ * only the flights added, changed or removed since {@code baseSequence}. Flights are keyed by
+ * {@link com.george.model.FlightKeys#identity(Flight)}.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class FlightDelta {
+
+    public enum Type { KEYFRAME, DELTA }
+
+    private final Type type;
+    private final long sequence;
+    private final long baseSequence;
+    private final Map<String, Flight> flights;
+    private final Map<String, Flight> added;
+    private final Map<String, Flight> changed;
+    private final List<String> removed;
+
+    private FlightDelta(Type type, long sequence, long baseSequence, Map<String, Flight> flights,
+                        Map<String, Flight> added, Map<String, Flight> changed, List<String> removed) {
+        this.type = type;
+        this.sequence = sequence;
+        this.baseSequence = baseSequence;
+        this.flights = flights;
+        this.added = added;
+        this.changed = changed;
+        this.removed = removed;
+    }
+
+    public static FlightDelta keyframe(long sequence, Map<String, Flight> flights) {
+        return new FlightDelta(Type.KEYFRAME, sequence, sequence, flights,
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList());
+    }
+
+    public static FlightDelta delta(long sequence, long baseSequence, Map<String, Flight> added,
+                                    Map<String, Flight> changed, List<String> removed) {
+        return new FlightDelta(Type.DELTA, sequence, baseSequence, Collections.emptyMap(), added, changed, removed);
+    }
+
+    public Type getType() { return type; }
+    public long getSequence() { return sequence; }
+    public long getBaseSequence() { return baseSequence; }
+    public Map<String, Flight> getFlights() { return flights; }
+    public Map<String, Flight> getAdded() { return added; }
+    public Map<String, Flight> getChanged() { return changed; }
+    public List<String> getRemoved() { return removed; }
+
+    @Override
+    public String toString() {
+        return "FlightDelta{type=" + type + ", sequence=" + sequence + ", flights=" + flights.size()
+            + ", added=" + added.size() + ", changed=" + changed.size() + ", removed=" + removed.size() + "}";
+    }
+}
@@ -0,0 +1,72 @@
+package com.george.stream;
+
+import com.george.model.Flight;
+import com.george.model.FlightKeys;
+
+import java.util.*;
+
+/**
+ * Turns successive full flight snapshots into {@link FlightDelta} updates by diffing each snapshot against the
+ * previous one using per-flight content hashes. Every {@code keyframeInterval}-th update is emitted as a keyframe.
+ */
+public class FlightDeltaEncoder {
+
+    private final int keyframeInterval;
+
+    private Map<String, Flight> current = Collections.emptyMap();
+    private Map<String, Long> currentHashes = Collections.emptyMap();
+    private long sequence;
+
+    public FlightDeltaEncoder(int keyframeInterval) {
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    /**
+     * Diffs the snapshot against the previous one and advances the sequence.
+     */
+    public synchronized FlightDelta encode(List<Flight> snapshot) {
+        Map<String, Flight> next = new LinkedHashMap<>(snapshot.size() * 2);
+        Map<String, Long> nextHashes = new HashMap<>(snapshot.size() * 2);
+        for (Flight flight : snapshot) {
+            String key = FlightKeys.identity(flight);
+            next.put(key, flight);
+            nextHashes.put(key, FlightKeys.contentHash(flight));
+        }
+
+        long baseSequence = sequence++;
+        FlightDelta update;
+        if (baseSequence == 0 || sequence % keyframeInterval == 0) {
+            update = FlightDelta.keyframe(sequence, Collections.unmodifiableMap(next));
+        } else {
+            Map<String, Flight> added = new LinkedHashMap<>();
+            Map<String, Flight> changed = new LinkedHashMap<>();
+            List<String> removed = new ArrayList<>();
+            next.forEach((key, flight) -> {
+                Long previousHash = currentHashes.get(key);
+                if (previousHash == null) {
+                    added.put(key, flight);
+                } else if (previousHash.longValue() != nextHashes.get(key)) {
+                    changed.put(key, flight);
+                }
+            });
+            for (String key : current.keySet()) {
+                if (!next.containsKey(key)) {
+                    removed.add(key);
+                }
+            }
+            update = FlightDelta.delta(sequence, baseSequence, added, changed, removed);
+        }
+
+        current = next;
+        currentHashes = nextHashes;
+        return update;
+    }
+
+    /**
+     * Returns a keyframe of the latest encoded snapshot without advancing the sequence, or {@code null} if nothing
+     * has been encoded yet.
+     */
+    public synchronized FlightDelta keyframe() {
+        return sequence == 0 ? null : FlightDelta.keyframe(sequence, Collections.unmodifiableMap(current));
+    }
+}
@@ -0,0 +1,45 @@
+package com.george.stream;
+
+import com.george.service.FlightService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Delta-encoded view of the shared flight stream for dashboard clients. Snapshots are diffed once, on the shared
+ * stream, and every subscriber starts with a keyframe of the current board followed by the deltas after it.
+ */
+@Component
+public class FlightDeltaStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightDeltaStream.class);
+
+    private final FlightDeltaEncoder encoder;
+    private final Flux<FlightDelta> updates;
+
+    public FlightDeltaStream(
+            FlightService flightService,
+            @Value("${dashboard.stream.keyframe-interval:10}") int keyframeInterval) {
+        this.encoder = new FlightDeltaEncoder(keyframeInterval);
+        this.updates = flightService.getFlightsStream()
+            .map(encoder::encode)
+            .doOnNext(update -> logger.debug("Encoded dashboard update: {}", update))
+            .replay(1)
+            .refCount();
+    }
+
+    /**
+     * Returns the update stream for one subscriber: a keyframe of the current board (if any), followed by every
+     * later update. Slow subscribers skip to the latest update and resynchronize on the next keyframe.
+     */
+    public Flux<FlightDelta> subscribe() {
+        return Flux.defer(() -> {
+            FlightDelta keyframe = encoder.keyframe();
+            long after = keyframe != null ? keyframe.getSequence() : 0;
+            return Flux.concat(Mono.justOrEmpty(keyframe), updates.filter(update -> update.getSequence() > after));
+        }).onBackpressureLatest();
+    }
+}
@@ -0,0 +1,47 @@
+package com.george;
+
+import com.george.prediction.CompiledForest;
+import com.george.prediction.FeatureMatrix;
+import org.junit.jupiter.api.Test;
+import smile.base.cart.SplitRule;
+import smile.classification.RandomForest;
+import smile.data.formula.Formula;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CompiledForestTest {
+
+    private static final String[] NAMES = {"airline", "departure", "scheduled_hour", "departure_delay"};
+
+    @Test
+    void testCompiledForestMatchesSmile() {
+        FeatureMatrix training = randomRows(new Random(7), 400);
+        int[] labels = new int[training.rows()];
+        for (int i = 0; i < labels.length; i++) {
+            double[] row = training.row(i);
+            // Labels 0, 1 and 3 only, so class indices and labels differ
+            labels[i] = row[3] > 30 ? 3 : row[2] < 12 ? 1 : 0;
+        }
+        RandomForest forest = RandomForest.fit(Formula.lhs("status"), training.toDataFrame("status", labels),
+            25, 0, SplitRule.GINI, 8, 50, 5, 1.0, null, LongStream.range(1, 26));
+
+        CompiledForest compiled = CompiledForest.compile(forest);
+        assertEquals(25, compiled.treeCount());
+
+        FeatureMatrix unseen = randomRows(new Random(11), 400);
+        assertArrayEquals(forest.predict(training.toDataFrame()), compiled.predict(training));
+        assertArrayEquals(forest.predict(unseen.toDataFrame()), compiled.predict(unseen));
+    }
+
+    private static FeatureMatrix randomRows(Random random, int count) {
+        double[][] rows = new double[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new double[]{random.nextInt(6), random.nextInt(20), random.nextInt(24), random.nextInt(90) - 1};
+        }
+        return FeatureMatrix.of(NAMES, rows);
+    }
+}
@@ -0,0 +1,97 @@
+package com.george;
+
+import com.george.model.Flight;
+import com.george.model.Flight.Arrival;
+import com.george.model.Flight.Departure;
+import com.george.prediction.FeatureMatrix;
+import com.george.prediction.FeaturePipeline;
+import com.george.prediction.FlightFeature;
+import com.george.prediction.FlightFeatures;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FeaturePipelineTest {
+
+    @Test
+    void testCategoriesAreRankedByFrequency() {
+        FeaturePipeline pipeline = new FeaturePipeline(FlightFeatures.byName(List.of("departure", "route")))
+            .fit(List.of(
+                flight("JFK", "LAX", null, null),
+                flight("ATL", "ORD", null, null),
+                flight("ATL", "JFK", null, null)));
+
+        FeatureMatrix matrix = pipeline.transform(List.of(
+            flight("ATL", "ORD", null, null),
+            flight("JFK", "LAX", null, null),
+            flight("SFO", "LAX", null, null),
+            flight(null, "LAX", null, null)));
+
+        assertArrayEquals(new double[]{0, 1}, matrix.row(0), "The most frequent departure should get code 0");
+        assertArrayEquals(new double[]{1, 0}, matrix.row(1));
+        assertArrayEquals(new double[]{2, 3}, matrix.row(2), "Unseen categories should share the code after the last one");
+        assertArrayEquals(new double[]{FlightFeature.MISSING, FlightFeature.MISSING}, matrix.row(3));
+    }
+
+    @Test
+    void testTimeAndDelayFeatures() {
+        FeaturePipeline pipeline = new FeaturePipeline(
+            FlightFeatures.byName(List.of("scheduled_hour", "scheduled_day_of_week", "departure_delay")));
+
+        FeatureMatrix matrix = pipeline.transform(List.of(
+            flight("JFK", "LAX", "2025-03-13T22:30:00-05:00", "17"),
+            flight("JFK", "LAX", null, "n/a")));
+
+        // 2025-03-13 is a Thursday; the hour stays in the airport's own offset
+        assertArrayEquals(new double[]{22, 4, 17}, matrix.row(0));
+        assertArrayEquals(new double[]{FlightFeature.MISSING, FlightFeature.MISSING, FlightFeature.MISSING}, matrix.row(1));
+    }
+
+    @Test
+    void testFittedPipelineSurvivesSerializationByName() throws Exception {
+        FeaturePipeline pipeline = new FeaturePipeline(FlightFeatures.byName(List.of("route", "departure_delay")))
+            .fit(List.of(flight("JFK", "LAX", null, "5"), flight("ATL", "ORD", null, null)));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(pipeline);
+        }
+        String serialized = bytes.toString(StandardCharsets.ISO_8859_1);
+        assertFalse(serialized.contains("lambda$"), "Features should be persisted by name, not as lambdas");
+
+        FeaturePipeline restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (FeaturePipeline) in.readObject();
+        }
+        List<Flight> flights = List.of(flight("ATL", "ORD", null, "12"), flight("SFO", "LAX", null, null));
+        assertArrayEquals(pipeline.transform(flights).row(0), restored.transform(flights).row(0));
+        assertArrayEquals(pipeline.transform(flights).row(1), restored.transform(flights).row(1));
+    }
+
+    @Test
+    void testUnknownFeatureIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> FlightFeatures.byName(List.of("gate_color")));
+    }
+
+    private static Flight flight(String from, String to, String scheduled, String delay) {
+        Flight flight = new Flight();
+        Departure departure = new Departure();
+        departure.setIata(from);
+        departure.setScheduled(scheduled);
+        departure.setDelay(delay);
+        flight.setDeparture(departure);
+        Arrival arrival = new Arrival();
+        arrival.setIata(to);
+        flight.setArrival(arrival);
+        return flight;
+    }
+}
@@ -0,0 +1,91 @@
+package com.george;
+
+import com.george.kafka.FlightBinaryDeserializer;
+import com.george.kafka.FlightBinarySerializer;
+import com.george.model.Flight;
+import com.george.model.Flight.Arrival;
+import com.george.model.Flight.Departure;
+import com.george.model.Flight.FlightInfo;
+import com.george.model.Flight.Live;
+import com.george.model.FlightKeys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightBinarySerdeTest {
+
+    private final FlightBinarySerializer serializer = new FlightBinarySerializer();
+    private final FlightBinaryDeserializer deserializer = new FlightBinaryDeserializer();
+
+    @Test
+    void testRoundTrip() {
+        Flight flight = new Flight();
+        flight.setFlightDate("2025-03-13");
+        flight.setFlightStatus("active");
+        Departure departure = new Departure();
+        departure.setIata("JFK");
+        departure.setAirport("John F. Kennedy International");
+        departure.setScheduled("2025-03-13T10:00:00+00:00");
+        flight.setDeparture(departure);
+        Arrival arrival = new Arrival();
+        arrival.setIata("LAX");
+        arrival.setDelay("12");
+        flight.setArrival(arrival);
+        FlightInfo info = new FlightInfo();
+        info.setIata("AA100");
+        flight.setFlightInfo(info);
+        Live live = new Live();
+        live.setLatitude(40.6413);
+        live.setAltitude(10668.0);
+        live.setGround(true);
+        flight.setLive(live);
+
+        byte[] payload = serializer.serialize("flights", flight);
+        Flight decoded = deserializer.deserialize("flights", payload);
+
+        assertEquals(FlightKeys.contentHash(flight), FlightKeys.contentHash(decoded), "All fields should survive the round trip");
+        assertNull(decoded.getAirline(), "Absent nested objects should stay absent");
+        assertTrue(decoded.getLive().isGround());
+    }
+
+    @Test
+    void testTimestampsAreWrittenPacked() {
+        Flight flight = new Flight();
+        flight.setFlightDate("2025-03-13");
+        Departure departure = new Departure();
+        departure.setScheduled("2025-03-13T10:00:00+05:30");
+        departure.setEstimated("2025-03-13T10:05:00.000+05:30");
+        flight.setDeparture(departure);
+        Live live = new Live();
+        live.setUpdated("1969-07-20T20:17:40+00:00");
+        flight.setLive(live);
+
+        byte[] payload = serializer.serialize("flights", flight);
+        Flight decoded = deserializer.deserialize("flights", payload);
+
+        assertEquals("2025-03-13", decoded.getFlightDate());
+        assertEquals("2025-03-13T10:00:00+05:30", decoded.getDeparture().getScheduled());
+        assertEquals("2025-03-13T10:05:00.000+05:30", decoded.getDeparture().getEstimated(),
+            "Timestamps that cannot be packed should keep their text");
+        assertNull(decoded.getDeparture().getActual());
+        assertEquals("1969-07-20T20:17:40+00:00", decoded.getLive().getUpdated());
+        assertTrue(new String(payload, StandardCharsets.ISO_8859_1).indexOf("2025-03-13T10:00") < 0,
+            "Packable timestamps should not be written as text");
+    }
+
+    @Test
+    void testJsonRecordsAreStillAccepted() {
+        String json = "{\"flight_date\": \"2025-03-13\", \"flight_status\": \"landed\", "
+            + "\"departure\": {\"iata\": \"IST\"}, \"arrival\": {\"iata\": \"DXB\"}}";
+
+        Flight decoded = deserializer.deserialize("flights", json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("landed", decoded.getFlightStatus());
+        assertEquals("IST", decoded.getDeparture().getIata());
+        assertEquals("DXB", decoded.getArrival().getIata());
+    }
+}
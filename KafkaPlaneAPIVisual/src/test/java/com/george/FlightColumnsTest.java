@@ -0,0 +1,57 @@
+package com.george;
+
+import com.george.analytics.FlightAggregates;
+import com.george.analytics.FlightColumns;
+import com.george.model.Flight;
+import com.george.model.Flight.Arrival;
+import com.george.model.Flight.Departure;
+import com.george.model.FlightStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FlightColumnsTest {
+
+    @Test
+    void testSinglePassAggregates() {
+        FlightAggregates aggregates = FlightColumns.of(List.of(
+            flight("AA", "JFK", "LAX", "scheduled", "2025-03-13T10:00:00+00:00", "5"),
+            flight("AA", "JFK", "SFO", "active", "2025-03-13T10:30:00+00:00", "45"),
+            flight("DL", "ATL", "JFK", "active", "2025-03-13T23:59:00+00:00", null),
+            flight(null, null, null, "en-route", null, "late"))).aggregate();
+
+        assertEquals(4, aggregates.getFlights());
+        assertEquals(1, aggregates.count(FlightStatus.SCHEDULED));
+        assertEquals(2, aggregates.count(FlightStatus.ACTIVE));
+        assertEquals(0, aggregates.count(FlightStatus.LANDED));
+        assertEquals(List.of("AA", "DL"), List.copyOf(aggregates.getByAirline().keySet()));
+        assertEquals(3L, aggregates.getByAirport().get("JFK"), "Departures and arrivals should both count");
+
+        long[] expectedHours = new long[24];
+        expectedHours[10] = 2;
+        expectedHours[23] = 1;
+        assertArrayEquals(expectedHours, aggregates.getDeparturesByHour());
+        assertEquals(1L, aggregates.getDelayHistogram().get("0-14"));
+        assertEquals(1L, aggregates.getDelayHistogram().get("30-59"));
+    }
+
+    private static Flight flight(String airline, String from, String to, String status, String scheduled, String delay) {
+        Flight flight = new Flight();
+        flight.setFlightStatus(status);
+        if (airline != null) {
+            flight.setAirline(new Flight.Airline(airline, airline + " Airlines"));
+        }
+        Departure departure = new Departure();
+        departure.setIata(from);
+        departure.setScheduled(scheduled);
+        departure.setDelay(delay);
+        flight.setDeparture(departure);
+        Arrival arrival = new Arrival();
+        arrival.setIata(to);
+        flight.setArrival(arrival);
+        return flight;
+    }
+}
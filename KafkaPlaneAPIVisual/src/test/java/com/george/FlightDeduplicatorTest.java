@@ -0,0 +1,82 @@
+package com.george;
+
+import com.george.config.DedupConfig;
+import com.george.kafka.FlightDeduplicator;
+import com.george.model.Flight;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightDeduplicatorTest {
+
+    @Test
+    void testUnchangedFlightsAreRepeatsOnceRecorded() {
+        FlightDeduplicator deduplicator = new FlightDeduplicator(new DedupConfig());
+        Flight first = flight("AA100", "scheduled");
+
+        assertFalse(deduplicator.isRepeat(first), "Nothing has been recorded yet");
+        deduplicator.record(first);
+        assertTrue(deduplicator.isRepeat(flight("AA100", "scheduled")), "An identical copy should be a repeat");
+        assertFalse(deduplicator.isRepeat(flight("AA100", "active")), "A status change is new content");
+        assertFalse(deduplicator.isRepeat(flight("AA200", "scheduled")));
+
+        List<Flight> changed = deduplicator.changed(List.of(flight("AA100", "scheduled"), flight("AA100", "landed")));
+        assertEquals(1, changed.size());
+        assertEquals("landed", changed.get(0).getFlightStatus());
+    }
+
+    @Test
+    void testFilterRemembersFlightsEvictedFromTheExactCache() {
+        DedupConfig config = new DedupConfig();
+        config.setExactCacheSize(0);
+        FlightDeduplicator deduplicator = new FlightDeduplicator(config);
+
+        deduplicator.record(flight("AA100", "scheduled"));
+        assertTrue(deduplicator.isRepeat(flight("AA100", "scheduled")));
+        assertEquals(1L, deduplicator.stats().get("filterRepeats"));
+    }
+
+    @Test
+    void testOldGenerationsAreForgotten() {
+        DedupConfig config = new DedupConfig();
+        config.setExactCacheSize(0);
+        config.setExpectedFlights(10);
+        FlightDeduplicator deduplicator = new FlightDeduplicator(config);
+
+        Flight old = flight("AA1", "scheduled");
+        deduplicator.record(old);
+        for (int i = 0; i < 25; i++) {
+            deduplicator.record(flight("BA" + i, "scheduled"));
+        }
+
+        assertFalse(deduplicator.isRepeat(old), "Content older than two generations should be treated as new");
+    }
+
+    @Test
+    void testDisabledFilterPassesEverything() {
+        DedupConfig config = new DedupConfig();
+        config.setEnabled(false);
+        FlightDeduplicator deduplicator = new FlightDeduplicator(config);
+        deduplicator.record(flight("AA100", "scheduled"));
+
+        assertFalse(deduplicator.isRepeat(flight("AA100", "scheduled")));
+    }
+
+    private static Flight flight(String number, String status) {
+        Flight flight = new Flight();
+        flight.setFlightDate("2025-03-13");
+        flight.setFlightStatus(status);
+        flight.setAirline(new Flight.Airline(number.substring(0, 2), "Test Airlines"));
+        Flight.FlightInfo info = new Flight.FlightInfo();
+        info.setIata(number);
+        flight.setFlightInfo(info);
+        Flight.Departure departure = new Flight.Departure();
+        departure.setIata("JFK");
+        flight.setDeparture(departure);
+        return flight;
+    }
+}
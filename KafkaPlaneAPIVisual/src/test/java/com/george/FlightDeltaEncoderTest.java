@@ -0,0 +1,72 @@
+package com.george;
+
+import com.george.model.Flight;
+import com.george.model.Flight.Departure;
+import com.george.model.Flight.FlightInfo;
+import com.george.model.FlightKeys;
+import com.george.stream.FlightDelta;
+import com.george.stream.FlightDeltaEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightDeltaEncoderTest {
+
+    @Test
+    void testFirstUpdateIsKeyframe() {
+        FlightDeltaEncoder encoder = new FlightDeltaEncoder(10);
+        FlightDelta update = encoder.encode(List.of(flight("AA100", "JFK", "scheduled")));
+
+        assertEquals(FlightDelta.Type.KEYFRAME, update.getType());
+        assertEquals(1, update.getFlights().size());
+    }
+
+    @Test
+    void testDeltaContainsOnlyChanges() {
+        FlightDeltaEncoder encoder = new FlightDeltaEncoder(10);
+        Flight unchanged = flight("AA100", "JFK", "scheduled");
+        Flight departing = flight("DL200", "ATL", "scheduled");
+        Flight removed = flight("UA300", "ORD", "landed");
+        encoder.encode(List.of(unchanged, departing, removed));
+
+        Flight added = flight("BA400", "LHR", "scheduled");
+        FlightDelta update = encoder.encode(List.of(
+            flight("AA100", "JFK", "scheduled"), flight("DL200", "ATL", "active"), added));
+
+        assertEquals(FlightDelta.Type.DELTA, update.getType());
+        assertEquals(1, update.getBaseSequence());
+        assertEquals(2, update.getSequence());
+        assertEquals(List.of(FlightKeys.identity(added)), List.copyOf(update.getAdded().keySet()));
+        assertEquals(List.of(FlightKeys.identity(departing)), List.copyOf(update.getChanged().keySet()));
+        assertEquals(List.of(FlightKeys.identity(removed)), update.getRemoved());
+    }
+
+    @Test
+    void testPeriodicKeyframe() {
+        FlightDeltaEncoder encoder = new FlightDeltaEncoder(2);
+        List<Flight> board = List.of(flight("AA100", "JFK", "scheduled"));
+        encoder.encode(board);
+
+        FlightDelta second = encoder.encode(board);
+        assertEquals(FlightDelta.Type.KEYFRAME, second.getType(), "Every second update should be a keyframe");
+        FlightDelta third = encoder.encode(board);
+        assertEquals(FlightDelta.Type.DELTA, third.getType());
+        assertTrue(third.getChanged().isEmpty(), "Unchanged board should produce an empty delta");
+    }
+
+    private static Flight flight(String number, String departureIata, String status) {
+        Flight flight = new Flight();
+        flight.setFlightDate("2025-03-13");
+        flight.setFlightStatus(status);
+        FlightInfo info = new FlightInfo();
+        info.setIata(number);
+        flight.setFlightInfo(info);
+        Departure departure = new Departure();
+        departure.setIata(departureIata);
+        flight.setDeparture(departure);
+        return flight;
+    }
+}
@@ -0,0 +1,88 @@
+package com.george;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.george.model.Flight;
+import com.george.model.FlightKeys;
+import com.george.model.FlightStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class FlightModelTest {
+
+    private static final String JSON = """
+        {"flight_date":"2025-03-13","flight_status":"active",
+         "departure":{"airport":"John F. Kennedy International","timezone":"America/New_York","iata":"JFK",
+                      "scheduled":"2025-03-13T10:00:00-04:00","estimated_runway":"2025-03-13T10:12:00-04:00"},
+         "arrival":{"iata":"LAX","scheduled":"2025-03-13T13:30:00.5+00:00"},
+         "airline":{"name":"American Airlines","iata":"AA"},
+         "flight":{"iata":"AA100"},
+         "live":{"updated":"2025-03-13T15:00:00+00:00","latitude":1.5,"is_ground":false}}
+        """;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void testJsonRoundTripIsLossless() throws Exception {
+        Flight flight = mapper.readValue(JSON, Flight.class);
+
+        assertEquals(FlightStatus.ACTIVE, flight.getStatus());
+        assertEquals("2025-03-13T10:00:00-04:00", flight.getDeparture().getScheduled());
+        assertEquals(1741874400L, flight.getDeparture().getScheduledEpochSecond());
+        assertEquals("2025-03-13T13:30:00.5+00:00", flight.getArrival().getScheduled(),
+            "Timestamps that cannot be packed losslessly should be kept verbatim");
+        assertEquals("AA", flight.getAirline().getIata());
+
+        JsonNode original = mapper.readTree(JSON);
+        JsonNode written = mapper.readTree(mapper.writeValueAsString(flight));
+        assertEquals(original.get("flight_date"), written.get("flight_date"));
+        assertEquals(original.get("flight_status"), written.get("flight_status"));
+        assertEquals(original.at("/departure/estimated_runway"), written.at("/departure/estimated_runway"));
+        assertEquals(original.at("/arrival/scheduled"), written.at("/arrival/scheduled"));
+        assertEquals(original.at("/live/updated"), written.at("/live/updated"));
+        assertFalse(written.at("/departure").has("scheduledEpochSecond"));
+    }
+
+    @Test
+    void testCodesAreShared() throws Exception {
+        Flight first = mapper.readValue(JSON, Flight.class);
+        Flight second = mapper.readValue(JSON, Flight.class);
+        assertSame(first.getDeparture().getTimezone(), second.getDeparture().getTimezone());
+        assertSame(first.getAirline().getName(), second.getAirline().getName());
+    }
+
+    @Test
+    void testUnknownStatusIsKept() {
+        Flight flight = new Flight();
+        flight.setFlightStatus("en-route");
+        assertNull(flight.getStatus());
+        assertEquals("en-route", flight.getFlightStatus());
+        flight.setFlightStatus(null);
+        assertNull(flight.getFlightStatus());
+    }
+
+    @Test
+    void testEqualityFollowsFlightIdentity() throws Exception {
+        Flight scheduled = mapper.readValue(JSON, Flight.class);
+        scheduled.setFlightStatus("scheduled");
+        Flight active = mapper.readValue(JSON, Flight.class);
+        assertEquals(scheduled, active, "Status changes should not change the identity of a flight");
+        assertEquals(scheduled.hashCode(), active.hashCode());
+
+        Flight otherDay = mapper.readValue(JSON, Flight.class);
+        otherDay.setFlightDate("2025-03-14");
+        assertNotEquals(scheduled, otherDay);
+
+        List<Flight> distinct = FlightKeys.distinct(List.of(scheduled, otherDay, active));
+        assertEquals(2, distinct.size());
+        assertSame(active, distinct.get(0), "The latest occurrence should be kept in the first position");
+    }
+}
@@ -0,0 +1,106 @@
+package com.george;
+
+import com.george.kafka.FlightKeyStrategy;
+import com.george.kafka.FlightPartitioner;
+import com.george.model.Flight;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightPartitionerTest {
+
+    private static final String TOPIC = "flights";
+    private static final int PARTITIONS = 12;
+
+    @Test
+    void testLegacyKeysKeepTheirFormat() {
+        assertEquals("2025-03-13-ATL", FlightKeyStrategy.LEGACY.key(flight("DL", "100", "ATL", "JFK")));
+        assertEquals("unknown-unknown", FlightKeyStrategy.LEGACY.key(new Flight()));
+        assertEquals(FlightKeyStrategy.ROUTE, FlightKeyStrategy.fromName(" route "));
+    }
+
+    @Test
+    void testFlightKeysSpreadAHubAcrossPartitions() {
+        FlightPartitioner legacy = partitioner("legacy");
+        FlightPartitioner byFlight = partitioner("flight");
+        Cluster cluster = cluster();
+
+        int[] legacyCounts = new int[PARTITIONS];
+        int[] flightCounts = new int[PARTITIONS];
+        for (int i = 0; i < 1200; i++) {
+            Flight flight = flight("DL", String.valueOf(i), "ATL", i % 2 == 0 ? "JFK" : "LAX");
+            legacyCounts[partition(legacy, flight, cluster)]++;
+            flightCounts[partition(byFlight, flight, cluster)]++;
+        }
+
+        assertEquals(1200, max(legacyCounts), "One hub on one day should land on a single partition with legacy keys");
+        assertTrue(max(flightCounts) < 2 * 1200 / PARTITIONS, "Per-flight keys should spread the hub evenly");
+    }
+
+    @Test
+    void testUpdatesOfOneFlightShareAPartition() {
+        FlightPartitioner partitioner = partitioner("route");
+        Cluster cluster = cluster();
+        Flight scheduled = flight("AA", "100", "JFK", "LAX");
+        Flight active = flight("AA", "100", "JFK", "LAX");
+        active.setFlightStatus("active");
+
+        assertEquals(partition(partitioner, scheduled, cluster), partition(partitioner, active, cluster));
+    }
+
+    private static int partition(FlightPartitioner partitioner, Flight flight, Cluster cluster) {
+        byte[] key = FlightKeyStrategy.LEGACY.key(flight).getBytes(StandardCharsets.UTF_8);
+        return partitioner.partition(TOPIC, null, key, flight, null, cluster);
+    }
+
+    private static FlightPartitioner partitioner(String strategy) {
+        FlightPartitioner partitioner = new FlightPartitioner();
+        partitioner.configure(Map.of(FlightPartitioner.STRATEGY_CONFIG, strategy));
+        return partitioner;
+    }
+
+    private static Cluster cluster() {
+        Node node = new Node(0, "localhost", 9092);
+        List<PartitionInfo> partitions = new ArrayList<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions.add(new PartitionInfo(TOPIC, i, node, new Node[]{node}, new Node[]{node}));
+        }
+        return new Cluster("test", List.of(node), partitions, Set.of(), Set.of());
+    }
+
+    private static int max(int[] counts) {
+        int max = 0;
+        for (int count : counts) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    private static Flight flight(String airline, String number, String from, String to) {
+        Flight flight = new Flight();
+        flight.setFlightDate("2025-03-13");
+        flight.setFlightStatus("scheduled");
+        flight.setAirline(new Flight.Airline(airline, airline + " Airlines"));
+        Flight.FlightInfo info = new Flight.FlightInfo();
+        info.setIata(airline + number);
+        info.setNumber(number);
+        flight.setFlightInfo(info);
+        Flight.Departure departure = new Flight.Departure();
+        departure.setIata(from);
+        flight.setDeparture(departure);
+        Flight.Arrival arrival = new Flight.Arrival();
+        arrival.setIata(to);
+        flight.setArrival(arrival);
+        return flight;
+    }
+}
@@ -9,12 +9,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
+@TestPropertySource(properties = "prediction.model.store.enabled=false")
 public class FlightPredictionServiceTest {
 
     @Autowired
@@ -87,6 +90,7 @@ public class FlightPredictionServiceTest {
     }
 
     @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD) // other tests train the shared service
     void testPredictWithoutTraining() {
         // Test prediction without training
         Flight testFlight = new Flight();
@@ -112,4 +116,18 @@ public class FlightPredictionServiceTest {
         String prediction = predictionService.predictFlightStatus(invalidFlight);
         assertEquals("Unknown (Missing or invalid data)", prediction, "Should return 'Unknown' for invalid flight");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBatchPredictionMatchesSinglePredictions() {
+        predictionService.trainStatusPredictor(trainingData);
+
+        Flight invalidFlight = new Flight();
+        List<Flight> batch = List.of(trainingData.get(0), invalidFlight, trainingData.get(1));
+        List<String> predictions = predictionService.predictFlightStatuses(batch);
+
+        assertEquals(3, predictions.size(), "Should return one prediction per flight");
+        assertEquals(predictionService.predictFlightStatus(trainingData.get(0)), predictions.get(0));
+        assertEquals("Unknown (Missing or invalid data)", predictions.get(1), "Invalid flight should keep its position in the batch");
+        assertEquals(predictionService.predictFlightStatus(trainingData.get(1)), predictions.get(2));
+    }
+}
@@ -0,0 +1,78 @@
+package com.george;
+
+import com.george.model.Flight;
+import com.george.model.Flight.Arrival;
+import com.george.model.Flight.Departure;
+import com.george.model.Flight.FlightInfo;
+import com.george.store.FlightQuery;
+import com.george.store.FlightQueryEngine;
+import com.george.store.FlightStateStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightQueryEngineTest {
+
+    private final FlightStateStore store = new FlightStateStore(Duration.ofMinutes(2), Duration.ofHours(24));
+    private final FlightQueryEngine engine = new FlightQueryEngine(store, Duration.ZERO);
+
+    @BeforeEach
+    void setUp() {
+        store.upsertAll(List.of(
+            flight("AA100", "JFK", "LAX", "active"),
+            flight("AA200", "JFK", "SFO", "scheduled"),
+            flight("DL300", "JFK", "LAX", "scheduled"),
+            flight("UA400", "ORD", "LAX", "landed")));
+    }
+
+    @Test
+    void testPredicatesAreCombined() {
+        List<Flight> result = engine.search(new FlightQuery(null, null, "jfk", "LAX", null, null, 0, 0));
+        assertEquals(2, result.size(), "Departure and arrival should both have to match");
+
+        result = engine.search(new FlightQuery(null, null, "JFK", "LAX", "scheduled", null, 0, 0));
+        assertEquals(1, result.size());
+        assertEquals("DL300", result.get(0).getFlightInfo().getIata());
+
+        assertTrue(engine.search(new FlightQuery(null, null, "XXX", null, null, null, 0, 0)).isEmpty());
+    }
+
+    @Test
+    void testSortAndPaging() {
+        List<Flight> result = engine.search(new FlightQuery(null, null, null, "LAX", null, "-flight_number", 1, 1));
+        assertEquals(1, result.size());
+        assertEquals("DL300", result.get(0).getFlightInfo().getIata());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> engine.search(new FlightQuery(null, null, null, null, null, "gate", 0, 0)));
+    }
+
+    @Test
+    void testSnapshotFollowsStoreUpdates() {
+        assertEquals(1, engine.search(new FlightQuery(null, "UA400", null, null, null, null, 0, 0)).size());
+        store.upsertAll(List.of(flight("UA500", "ORD", "DEN", "scheduled")));
+        assertEquals(2, engine.search(new FlightQuery(null, null, "ORD", null, null, null, 0, 0)).size());
+    }
+
+    private static Flight flight(String number, String departureIata, String arrivalIata, String status) {
+        Flight flight = new Flight();
+        flight.setFlightDate("2025-03-13");
+        flight.setFlightStatus(status);
+        FlightInfo info = new FlightInfo();
+        info.setIata(number);
+        flight.setFlightInfo(info);
+        Departure departure = new Departure();
+        departure.setIata(departureIata);
+        flight.setDeparture(departure);
+        Arrival arrival = new Arrival();
+        arrival.setIata(arrivalIata);
+        flight.setArrival(arrival);
+        return flight;
+    }
+}
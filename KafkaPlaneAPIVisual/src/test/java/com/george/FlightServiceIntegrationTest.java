@@ -39,7 +39,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.mockserver.integration.ClientAndServer.startClientAndServer;
 
-@SpringBootTest
+// Tests publish the same flight repeatedly and expect each publish to reach the topic
+@SpringBootTest(properties = "flights.dedup.enabled=false")
 @EmbeddedKafka(partitions = 1, brokerProperties = {"listeners=PLAINTEXT://localhost:9093", "port=9093"})
 public class FlightServiceIntegrationTest {
 
@@ -0,0 +1,70 @@
+package com.george;
+
+import com.george.model.Flight;
+import com.george.model.Flight.Arrival;
+import com.george.model.Flight.Departure;
+import com.george.model.Flight.FlightInfo;
+import com.george.store.FlightStateStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlightStateStoreTest {
+
+    private final FlightStateStore store = new FlightStateStore(Duration.ofMinutes(2), Duration.ofHours(24));
+
+    @Test
+    void testLatestStateReplacesEarlierState() {
+        store.upsertAll(List.of(flight("AA100", "JFK", "LAX", "scheduled")));
+        store.upsertAll(List.of(flight("AA100", "JFK", "LAX", "active")));
+
+        assertEquals(1, store.size(), "Updates to the same flight should be compacted");
+        assertTrue(store.findByStatus("scheduled").isEmpty(), "Old status should be removed from the index");
+        assertEquals(1, store.findByStatus("ACTIVE").size(), "Status lookups should ignore case");
+        assertTrue(store.isFresh());
+    }
+
+    @Test
+    void testEmptyBatchesKeepVersionAndFreshness() {
+        store.upsertAll(List.of(flight("AA100", "JFK", "LAX", "active")));
+        long version = store.getVersion();
+        store.upsertAll(List.of());
+        store.markLive();
+        assertEquals(version, store.getVersion(), "An empty batch should not invalidate derived views");
+        assertTrue(store.isFresh());
+    }
+
+    @Test
+    void testSecondaryIndexes() {
+        store.upsertAll(List.of(
+            flight("AA100", "JFK", "LAX", "active"),
+            flight("DL200", "LAX", "ATL", "scheduled"),
+            flight("UA300", "ORD", "JFK", "landed")));
+
+        assertEquals(1, store.findByFlightNumber("dl200").size());
+        assertEquals(1, store.findByDeparture("JFK").size());
+        assertEquals(2, store.findByAirport("JFK").size(), "Airport lookup should cover departures and arrivals");
+        assertEquals(2, store.findByAirport("LAX").size());
+        assertTrue(store.findByAirline("ZZ").isEmpty());
+    }
+
+    private static Flight flight(String number, String departureIata, String arrivalIata, String status) {
+        Flight flight = new Flight();
+        flight.setFlightDate("2025-03-13");
+        flight.setFlightStatus(status);
+        FlightInfo info = new FlightInfo();
+        info.setIata(number);
+        flight.setFlightInfo(info);
+        Departure departure = new Departure();
+        departure.setIata(departureIata);
+        flight.setDeparture(departure);
+        Arrival arrival = new Arrival();
+        arrival.setIata(arrivalIata);
+        flight.setArrival(arrival);
+        return flight;
+    }
+}
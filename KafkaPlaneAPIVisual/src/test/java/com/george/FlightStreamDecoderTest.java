@@ -0,0 +1,71 @@
+package com.george;
+
+import com.george.ingest.FlightStreamDecoder;
+import com.george.model.FlightResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FlightStreamDecoderTest {
+
+    private static final String RESPONSE = "{\"pagination\": {\"limit\": 2, \"offset\": 0, \"count\": 2, \"total\": 7}, "
+        + "\"data\": [{\"flight_date\": \"2025-03-13\", \"flight_status\": \"active\", "
+        + "\"departure\": {\"iata\": \"JFK\", \"airport\": \"JFK Airport\"}, "
+        + "\"arrival\": {\"iata\": \"LAX\", \"airport\": \"LAX Airport\"}, "
+        + "\"flight\": {\"number\": \"100\", \"iata\": \"AA100\", \"codeshared\": {\"airline_iata\": \"ba\"}}}, "
+        + "{\"flight_date\": \"2025-03-13\", \"flight_status\": \"landed\", "
+        + "\"departure\": {\"iata\": \"IST\"}, \"arrival\": {\"iata\": \"DXB\"}}]}";
+
+    private final FlightStreamDecoder decoder = new FlightStreamDecoder(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void testDecodeAcrossChunkBoundaries() {
+        AtomicReference<FlightResponse.Pagination> pagination = new AtomicReference<>();
+
+        StepVerifier.create(decoder.decode(chunks(RESPONSE, 7), pagination::set))
+            .assertNext(flight -> {
+                assertEquals("active", flight.getFlightStatus());
+                assertEquals("JFK", flight.getDeparture().getIata());
+                assertEquals("AA100", flight.getFlightInfo().getIata());
+            })
+            .assertNext(flight -> assertEquals("DXB", flight.getArrival().getIata()))
+            .verifyComplete();
+        assertEquals(7, pagination.get().getTotal(), "Pagination should be reported");
+    }
+
+    @Test
+    void testResponseWithoutData() {
+        StepVerifier.create(decoder.decode(chunks("{\"pagination\": null}", 4), pagination -> { }))
+            .verifyComplete();
+    }
+
+    @Test
+    void testErrorResponse() {
+        String error = "{\"error\": {\"code\": \"usage_limit_reached\", \"message\": \"Limit reached\"}}";
+        StepVerifier.create(decoder.decode(chunks(error, 5), pagination -> { }))
+            .expectError(IllegalStateException.class)
+            .verify();
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            int length = Math.min(chunkSize, bytes.length - i);
+            byte[] chunk = new byte[length];
+            System.arraycopy(bytes, i, chunk, 0, length);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
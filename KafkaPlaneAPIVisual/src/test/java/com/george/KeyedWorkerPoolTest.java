@@ -0,0 +1,60 @@
+package com.george;
+
+import com.george.consumer.KeyedWorkerPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class KeyedWorkerPoolTest {
+
+    @Test
+    void testItemsWithTheSameKeyKeepTheirOrder() {
+        KeyedWorkerPool pool = new KeyedWorkerPool(4);
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            items.add("k" + (i % 7) + ":" + i);
+        }
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        AtomicInteger processed = new AtomicInteger();
+        try {
+            pool.process(items, item -> item.substring(0, item.indexOf(':')), group -> {
+                for (String item : group) {
+                    String key = item.substring(0, item.indexOf(':'));
+                    seen.computeIfAbsent(key, k -> new ArrayList<>()).add(Integer.parseInt(item.substring(item.indexOf(':') + 1)));
+                    processed.incrementAndGet();
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(200, processed.get(), "Every item should be processed before process() returns");
+        assertEquals(7, seen.size());
+        for (List<Integer> sequence : seen.values()) {
+            for (int i = 1; i < sequence.size(); i++) {
+                assertEquals(sequence.get(i - 1) + 7, sequence.get(i), "Items for a key should run in batch order");
+            }
+        }
+    }
+
+    @Test
+    void testFailuresPropagateToTheCaller() {
+        KeyedWorkerPool pool = new KeyedWorkerPool(2);
+        try {
+            assertThrows(IllegalStateException.class, () -> pool.process(List.of("a", "b", "c"), item -> item, group -> {
+                if (group.contains("b")) {
+                    throw new IllegalStateException("boom");
+                }
+            }));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
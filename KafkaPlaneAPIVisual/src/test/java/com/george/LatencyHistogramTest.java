@@ -0,0 +1,48 @@
+package com.george;
+
+import com.george.logging.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void testQuantilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        assertEquals(10_000, histogram.count());
+        assertWithin(5_000_000, histogram.quantile(0.50));
+        assertWithin(9_000_000, histogram.quantile(0.90));
+        assertWithin(9_900_000, histogram.quantile(0.99));
+        assertEquals(10_000_000, histogram.quantile(1.0), "The top quantile should be capped at the recorded max");
+    }
+
+    @Test
+    void testExtremeValuesAreRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(0);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0, histogram.quantile(0.5));
+        assertEquals(Long.MAX_VALUE, histogram.quantile(1.0));
+        assertEquals(3L, histogram.snapshot().get("samples"));
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.quantile(0.99));
+        assertEquals(0.0, histogram.snapshot().get("meanMicros"));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.125,
+            "Expected " + actual + " to be within 12.5% above " + expected);
+    }
+}
@@ -0,0 +1,68 @@
+package com.george;
+
+import com.george.logging.MethodInstrumentation;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MethodInstrumentationTest {
+
+    @Test
+    void testReactiveErrorsAreCountedOnUnsampledCalls() throws Throwable {
+        MethodInstrumentation instrumentation = new MethodInstrumentation(0.0);
+
+        Mono<?> mono = (Mono<?>) instrumentation.instrument(joinPoint(Mono.error(new IllegalStateException("boom"))));
+        assertThrows(IllegalStateException.class, mono::block);
+        Flux<?> flux = (Flux<?>) instrumentation.instrument(joinPoint(Flux.error(new IllegalStateException("boom"))));
+        assertThrows(IllegalStateException.class, flux::blockLast);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        instrumentation.instrument(joinPoint(future));
+        future.completeExceptionally(new IllegalStateException("boom"));
+
+        Map<String, Object> stats = methodStats(instrumentation);
+        assertEquals(3L, stats.get("calls"));
+        assertEquals(3L, stats.get("errors"));
+        assertEquals(0L, stats.get("samples"), "Nothing should be timed at a zero sample rate");
+    }
+
+    @Test
+    void testSampledReactiveErrorsAreCountedOnce() throws Throwable {
+        MethodInstrumentation instrumentation = new MethodInstrumentation(1.0);
+
+        Mono<?> mono = (Mono<?>) instrumentation.instrument(joinPoint(Mono.error(new IllegalStateException("boom"))));
+        assertThrows(IllegalStateException.class, mono::block);
+        Mono<?> ok = (Mono<?>) instrumentation.instrument(joinPoint(Mono.just("ok")));
+        ok.block();
+
+        Map<String, Object> stats = methodStats(instrumentation);
+        assertEquals(2L, stats.get("calls"));
+        assertEquals(1L, stats.get("errors"));
+        assertEquals(2L, stats.get("samples"));
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object result) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        when(signature.toShortString()).thenReturn("Test.call()");
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> methodStats(MethodInstrumentation instrumentation) {
+        Map<String, Object> methods = (Map<String, Object>) instrumentation.stats().get("methods");
+        return (Map<String, Object>) methods.get("Test.call()");
+    }
+}
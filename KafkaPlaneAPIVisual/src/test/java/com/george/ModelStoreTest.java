@@ -0,0 +1,39 @@
+package com.george;
+
+import com.george.prediction.ModelStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ModelStoreTest {
+
+    private static final int MAGIC = 0x464C5452;
+    private static final int FORMAT_VERSION = 2;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testArtifactsWithDisallowedClassesAreSkipped() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                Files.newOutputStream(directory.resolve("status-model-v00000001.bin")))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            ObjectOutputStream objects = new ObjectOutputStream(out);
+            objects.writeObject(new AtomicLong(42));
+            objects.flush();
+        }
+
+        ModelStore store = new ModelStore(true, directory.toString(), 3);
+
+        assertTrue(store.loadLatest().isEmpty(), "An artifact holding classes outside the allow-list should not load");
+    }
+}
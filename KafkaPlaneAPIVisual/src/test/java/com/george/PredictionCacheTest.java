@@ -0,0 +1,26 @@
+package com.george;
+
+import com.george.prediction.PredictionCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PredictionCacheTest {
+
+    @Test
+    void testEntriesAreTaggedWithModelVersion() {
+        PredictionCache cache = new PredictionCache(100);
+        double[] row = {0, 3, 1, 17};
+
+        assertTrue(PredictionCache.isMiss(cache.get(1, row)));
+        cache.put(1, row, 2);
+        assertEquals(2, cache.get(1, new double[]{0, 3, 1, 17}), "Equal rows should hit");
+        assertTrue(PredictionCache.isMiss(cache.get(2, row)), "A new model version should invalidate the entry");
+        assertTrue(PredictionCache.isMiss(cache.get(1, new double[]{0, 3, 1, 18})));
+
+        assertEquals(128, cache.capacity(), "Capacity should be rounded up to a power of two");
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(3L, cache.stats().get("misses"));
+    }
+}
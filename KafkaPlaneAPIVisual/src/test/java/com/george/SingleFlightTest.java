@@ -0,0 +1,57 @@
+package com.george;
+
+import com.george.service.SingleFlight;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallersShareOneCall() {
+        SingleFlight<Map<String, String>, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, String> key = SingleFlight.normalize(Map.of("flight_status", "active"));
+
+        Mono<String> first = singleFlight.execute(key, () -> slowCall(calls));
+        Mono<String> second = singleFlight.execute(key, () -> slowCall(calls));
+
+        StepVerifier.create(Mono.zip(first, second))
+            .assertNext(results -> {
+                assertEquals("result-1", results.getT1());
+                assertEquals("result-1", results.getT2(), "Second caller should receive the shared result");
+            })
+            .verifyComplete();
+        assertEquals(1, calls.get(), "Only one upstream call should be made");
+        assertEquals(0, singleFlight.inFlightCount(), "Key should be released after the call completes");
+    }
+
+    @Test
+    void testNewCallAfterCompletion() {
+        SingleFlight<Map<String, String>, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, String> key = SingleFlight.normalize(Map.of("limit", "500"));
+
+        StepVerifier.create(singleFlight.execute(key, () -> slowCall(calls))).expectNext("result-1").verifyComplete();
+        StepVerifier.create(singleFlight.execute(key, () -> slowCall(calls))).expectNext("result-2").verifyComplete();
+        assertEquals(2, calls.get(), "Sequential calls should not be coalesced");
+    }
+
+    @Test
+    void testNormalizeIgnoresCaseAndOrder() {
+        assertEquals(
+            SingleFlight.normalize(Map.of("Airline_IATA", " AA ", "dep_iata", "JFK")),
+            SingleFlight.normalize(Map.of("dep_iata", "JFK", "airline_iata", "AA")));
+    }
+
+    private static Mono<String> slowCall(AtomicInteger calls) {
+        return Mono.fromCallable(() -> "result-" + calls.incrementAndGet())
+            .delayElement(Duration.ofMillis(100));
+    }
+}